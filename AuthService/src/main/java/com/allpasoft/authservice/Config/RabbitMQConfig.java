@@ -0,0 +1,50 @@
+package com.allpasoft.authservice.Config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String USUARIOS_ELIMINADOS_EXCHANGE = "usuarios.eliminados";
+    public static final String REVOCACIONES_EXCHANGE = "auth.revocaciones";
+
+    // Cada replica enlaza su propia cola anonima para invalidar su cache local de usuarios.
+    @Bean
+    public FanoutExchange usuariosEliminadosExchange() {
+        return ExchangeBuilder.fanoutExchange(USUARIOS_ELIMINADOS_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Queue usuariosEliminadosQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(USUARIOS_ELIMINADOS_EXCHANGE + "."));
+    }
+
+    @Bean
+    public Binding usuariosEliminadosBinding(Queue usuariosEliminadosQueue, FanoutExchange usuariosEliminadosExchange) {
+        return BindingBuilder.bind(usuariosEliminadosQueue).to(usuariosEliminadosExchange);
+    }
+
+    // Tokens revocados en el logout: los escuchan las replicas de AuthService y el gateway.
+    @Bean
+    public FanoutExchange revocacionesExchange() {
+        return ExchangeBuilder.fanoutExchange(REVOCACIONES_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Queue revocacionesQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(REVOCACIONES_EXCHANGE + "."));
+    }
+
+    @Bean
+    public Binding revocacionesBinding(Queue revocacionesQueue, FanoutExchange revocacionesExchange) {
+        return BindingBuilder.bind(revocacionesQueue).to(revocacionesExchange);
+    }
+}
@@ -3,9 +3,12 @@ package com.allpasoft.authservice.Controller;
 import com.allpasoft.authservice.Dto.*;
 import com.allpasoft.authservice.JwtUtils.JwtUtils;
 import com.allpasoft.authservice.Service.AuthService;
+import com.allpasoft.authservice.Service.HashingSaturatedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -41,6 +44,9 @@ public class AuthController {
             AuthResponse response = authService.register(request);
             logger.info("✅ User registered successfully: {}", request.getUsername());
             return ResponseEntity.ok(response);
+        } catch (HashingSaturatedException e) {
+            logger.warn("⏳ Registration rejected for user {}: {}", request.getUsername(), e.getMessage());
+            return serviceUnavailable(e);
         } catch (RuntimeException e) {
             logger.error("❌ Registration failed for user {}: {}", request.getUsername(), e.getMessage());
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
@@ -54,6 +60,9 @@ public class AuthController {
             AuthResponse response = authService.login(request);
             logger.info("✅ User logged in successfully: {}", request.getUsername());
             return ResponseEntity.ok(response);
+        } catch (HashingSaturatedException e) {
+            logger.warn("⏳ Login rejected for user {}: {}", request.getUsername(), e.getMessage());
+            return serviceUnavailable(e);
         } catch (RuntimeException e) {
             logger.error("❌ Login failed for user {}: {}", request.getUsername(), e.getMessage());
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
@@ -81,6 +90,25 @@ public class AuthController {
         }
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader) {
+        logger.info("🚪 Logout request");
+        
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            logger.error("❌ Invalid authorization header");
+            return ResponseEntity.badRequest().body(new ErrorResponse("Authorization header missing or invalid"));
+        }
+        
+        try {
+            authService.logout(authHeader.substring(7));
+            logger.info("✅ Token revoked");
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            logger.error("❌ Logout failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/user/{username}")
     public ResponseEntity<?> getUserInfo(@PathVariable String username) {
         logger.info("👤 User info request for: {}", username);
@@ -93,4 +121,10 @@ public class AuthController {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
+    
+    private ResponseEntity<ErrorResponse> serviceUnavailable(HashingSaturatedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(e.getMessage()));
+    }
 }
@@ -0,0 +1,27 @@
+package com.allpasoft.authservice.Controller;
+
+import com.allpasoft.authservice.JwtUtils.SigningKeyStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    @Autowired
+    private SigningKeyStore signingKeyStore;
+
+    // Claves publicas para verificar tokens fuera de AuthService (gateway)
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", signingKeyStore.getJwks()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.allpasoft.authservice.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevokedEvent {
+    private String tokenId;
+    // exp del token en epoch millis: hasta entonces hay que recordarlo
+    private long expiresAt;
+}
@@ -0,0 +1,12 @@
+package com.allpasoft.authservice.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletedEvent {
+    private String username;
+}
@@ -0,0 +1,35 @@
+package com.allpasoft.authservice.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Par de claves EC (P-256) para firmar tokens. Todas las replicas leen la misma tabla,
+ * asi cualquier token firmado por una replica se puede verificar en las demas.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+    
+    @Id
+    private String kid;
+    
+    // PKCS#8 en Base64
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+    
+    // X.509 (SubjectPublicKeyInfo) en Base64
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+    
+    // Desde cuando firma; antes de esa fecha solo se publica en el JWKS
+    @Column(nullable = false)
+    private Instant activatesAt;
+}
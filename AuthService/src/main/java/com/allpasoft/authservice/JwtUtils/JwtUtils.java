@@ -1,21 +1,36 @@
 package com.allpasoft.authservice.JwtUtils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 import org.springframework.stereotype.Component;
 
+import java.security.Key;
 import java.util.Date;
-import javax.crypto.SecretKey;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
 
-    private final String secret = "una_clave_muy_segura_1234567890123456";
     private final long expirationMs = 3600000;
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+
+    private final SigningKeyStore signingKeyStore;
+    // El parser es inmutable y thread-safe: se construye una sola vez y busca la clave por kid.
+    private final JwtParser parser;
+
+    public JwtUtils(SigningKeyStore signingKeyStore) {
+        this.signingKeyStore = signingKeyStore;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return signingKeyStore.getPublicKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     public String generateToken() {
@@ -23,30 +38,45 @@ public class JwtUtils {
     }
     
     public String generateToken(String username) {
+        SigningKeyStore.ActiveKey key = signingKeyStore.getActiveKey();
         return Jwts.builder()
+                .header().keyId(key.getKid()).and()
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey())
+                .signWith(key.getPrivateKey(), Jwts.SIG.ES256)
                 .compact();
     }
     
     public String generateToken(String username, String role) {
+        SigningKeyStore.ActiveKey key = signingKeyStore.getActiveKey();
+        // jti unico: permite revocar este token concreto en el logout
         return Jwts.builder()
+                .header().keyId(key.getKid()).and()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .claim("role", role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey())
+                .signWith(key.getPrivateKey(), Jwts.SIG.ES256)
                 .compact();
     }
     
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifica firma y expiracion con un solo parseo.
+     * Devuelve los claims, o null si el token no es valido.
+     */
+    public Claims parseValidToken(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return claims.getExpiration() != null ? claims : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
     
     public boolean isTokenValid(String token) {
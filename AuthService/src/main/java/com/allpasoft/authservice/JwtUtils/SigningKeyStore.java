@@ -0,0 +1,183 @@
+package com.allpasoft.authservice.JwtUtils;
+
+import com.allpasoft.authservice.Entity.SigningKey;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Claves de firma ya decodificadas. Se reemplazan en bloque en cada recarga, asi firmar y
+ * verificar solo leen un campo volatile y buscan por {@code kid}; nunca se deriva una clave
+ * por peticion.
+ */
+@Component
+public class SigningKeyStore {
+
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of(), List.of());
+
+    /**
+     * Reemplaza las claves. La activa es la de {@code activatesAt} mas reciente que ya llego;
+     * las futuras solo se publican, para que los verificadores las tengan antes de su primer uso.
+     */
+    public void load(List<SigningKey> keys, Instant now) {
+        Map<String, Decoded> previous = snapshot.keys;
+        Map<String, Decoded> decoded = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        ActiveKey active = null;
+
+        List<SigningKey> sorted = new ArrayList<>(keys);
+        sorted.sort(Comparator.comparing(SigningKey::getActivatesAt).thenComparing(SigningKey::getKid));
+        for (SigningKey key : sorted) {
+            Decoded d = previous.get(key.getKid());
+            if (d == null) {
+                d = decode(key);
+            }
+            decoded.put(key.getKid(), d);
+            jwks.add(toJwk(key.getKid(), (ECPublicKey) d.publicKey));
+            if (!key.getActivatesAt().isAfter(now)) {
+                active = new ActiveKey(d.kid, d.privateKey);
+            }
+        }
+        this.snapshot = new Snapshot(active, decoded, List.copyOf(jwks));
+    }
+
+    /**
+     * @throws IllegalStateException si todavia no hay una clave activa
+     */
+    public ActiveKey getActiveKey() {
+        ActiveKey active = snapshot.active;
+        if (active == null) {
+            throw new IllegalStateException("No hay una clave de firma activa");
+        }
+        return active;
+    }
+
+    public PublicKey getPublicKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        Decoded d = snapshot.keys.get(kid);
+        return d != null ? d.publicKey : null;
+    }
+
+    /**
+     * Claves publicas en formato JWK (RFC 7517), precalculadas en la recarga.
+     */
+    public List<Map<String, Object>> getJwks() {
+        return snapshot.jwks;
+    }
+
+    /**
+     * Genera un nuevo par P-256 que empieza a firmar en {@code activatesAt}.
+     */
+    public static SigningKey generate(Instant activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            Base64.Encoder encoder = Base64.getEncoder();
+            return new SigningKey(
+                    UUID.randomUUID().toString(),
+                    encoder.encodeToString(pair.getPrivate().getEncoded()),
+                    encoder.encodeToString(pair.getPublic().getEncoded()),
+                    activatesAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo generar la clave EC", e);
+        }
+    }
+
+    private static Decoded decode(SigningKey key) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            Base64.Decoder decoder = Base64.getDecoder();
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(decoder.decode(key.getPrivateKey())));
+            PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(decoder.decode(key.getPublicKey())));
+            return new Decoded(key.getKid(), privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Clave de firma invalida: " + key.getKid(), e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(String kid, ECPublicKey key) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("x", encoder.encodeToString(coordinate(key.getW().getAffineX())));
+        jwk.put("y", encoder.encodeToString(coordinate(key.getW().getAffineY())));
+        return jwk;
+    }
+
+    // Coordenada sin signo de 32 bytes, como exige JWK para P-256
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return fixed;
+    }
+
+    public static final class ActiveKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+
+        private ActiveKey(String kid, PrivateKey privateKey) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+    }
+
+    private static final class Decoded {
+        private final String kid;
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+
+        private Decoded(String kid, PrivateKey privateKey, PublicKey publicKey) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+        }
+    }
+
+    private static final class Snapshot {
+        private final ActiveKey active;
+        private final Map<String, Decoded> keys;
+        private final List<Map<String, Object>> jwks;
+
+        private Snapshot(ActiveKey active, Map<String, Decoded> keys, List<Map<String, Object>> jwks) {
+            this.active = active;
+            this.keys = keys;
+            this.jwks = jwks;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.allpasoft.authservice.Listener;
+
+import com.allpasoft.authservice.Dto.TokenRevokedEvent;
+import com.allpasoft.authservice.Service.TokenRevocationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+public class TokenRevocationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationListener.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // Tambien llegan las revocaciones propias; registrarlas de nuevo no cambia nada
+    @RabbitListener(queues = "#{revocacionesQueue.name}")
+    public void tokenRevocado(String messageJson) {
+        try {
+            TokenRevokedEvent event = objectMapper.readValue(messageJson, TokenRevokedEvent.class);
+            tokenRevocationService.registrar(event.getTokenId(), Instant.ofEpochMilli(event.getExpiresAt()));
+        } catch (Exception e) {
+            logger.error("❌ Evento de revocacion invalido: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.allpasoft.authservice.Listener;
+
+import com.allpasoft.authservice.Dto.UserDeletedEvent;
+import com.allpasoft.authservice.Service.UserExistenceCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEventsListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventsListener.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private UserExistenceCache userExistenceCache;
+
+    @RabbitListener(queues = "#{usuariosEliminadosQueue.name}")
+    public void usuarioEliminado(String messageJson) {
+        try {
+            UserDeletedEvent event = objectMapper.readValue(messageJson, UserDeletedEvent.class);
+            userExistenceCache.invalidate(event.getUsername());
+            logger.info("🗑️ Usuario eliminado, cache invalidada: {}", event.getUsername());
+        } catch (Exception e) {
+            logger.error("❌ Evento de usuario eliminado invalido: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.allpasoft.authservice.Repository;
+
+import com.allpasoft.authservice.Entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+}
@@ -4,8 +4,8 @@ import com.allpasoft.authservice.Dto.*;
 import com.allpasoft.authservice.Entity.User;
 import com.allpasoft.authservice.JwtUtils.JwtUtils;
 import com.allpasoft.authservice.Repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,10 +15,16 @@ public class AuthService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
     @Autowired
     private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserExistenceCache userExistenceCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
     
     public AuthResponse register(RegisterRequest request) {
         // Verificar si el usuario ya existe
@@ -33,7 +39,7 @@ public class AuthService {
         // Crear nuevo usuario
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setEmail(request.getEmail());
         user.setRole("USER");
         
@@ -50,7 +56,7 @@ public class AuthService {
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
         
         // Verificar contraseña
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Contraseña incorrecta");
         }
         
@@ -61,27 +67,38 @@ public class AuthService {
     
     public TokenValidationResponse validateToken(String token) {
         try {
-            if (!jwtUtils.isTokenValid(token)) {
+            // Un solo parseo: firma, expiracion y claims
+            Claims claims = jwtUtils.parseValidToken(token);
+            if (claims == null || tokenRevocationService.isRevoked(claims.getId())) {
                 return new TokenValidationResponse(false, null, null);
             }
             
-            String username = jwtUtils.getUsernameFromToken(token);
-            String role = jwtUtils.getRoleFromToken(token);
+            String username = claims.getSubject();
+            String role = claims.get("role", String.class);
             
-            // Verificar que el usuario aún existe en la base de datos
-            User user = userRepository.findByUsername(username)
-                    .orElse(null);
+            // Verificar que el usuario aún existe (cache de corta duración sobre la base de datos)
+            String userRole = userExistenceCache.getRole(username);
             
-            if (user == null) {
+            if (userRole == null) {
                 return new TokenValidationResponse(false, null, null);
             }
             
-            return new TokenValidationResponse(true, username, role != null ? role : user.getRole());
+            return new TokenValidationResponse(true, username, role != null ? role : userRole);
         } catch (Exception e) {
             return new TokenValidationResponse(false, null, null);
         }
     }
     
+    public void logout(String token) {
+        Claims claims = jwtUtils.parseValidToken(token);
+        if (claims == null) {
+            throw new RuntimeException("Token inválido");
+        }
+        if (!tokenRevocationService.revocar(claims)) {
+            throw new RuntimeException("El token no se puede revocar");
+        }
+    }
+    
     public UserInfoResponse getUserInfo(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
@@ -0,0 +1,11 @@
+package com.allpasoft.authservice.Service;
+
+/**
+ * El pool de hashing de contraseñas esta lleno o no respondio a tiempo; se responde 503.
+ */
+public class HashingSaturatedException extends RuntimeException {
+
+    public HashingSaturatedException(String message) {
+        super(message);
+    }
+}
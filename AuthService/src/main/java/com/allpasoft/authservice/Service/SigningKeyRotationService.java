@@ -0,0 +1,98 @@
+package com.allpasoft.authservice.Service;
+
+import com.allpasoft.authservice.Entity.SigningKey;
+import com.allpasoft.authservice.JwtUtils.SigningKeyStore;
+import com.allpasoft.authservice.Repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rotacion de las claves de firma. Siempre hay una clave siguiente publicada en el JWKS
+ * antes de empezar a firmar ({@code pre-publish}), asi los verificadores ya la tienen en
+ * cache cuando llegan los primeros tokens. Las claves retiradas se mantienen mientras
+ * puedan existir tokens validos firmados con ellas.
+ */
+@Service
+public class SigningKeyRotationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyRotationService.class);
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final SigningKeyStore signingKeyStore;
+    private final Duration rotationInterval;
+    private final Duration prePublish;
+    private final Duration retention;
+
+    public SigningKeyRotationService(SigningKeyRepository signingKeyRepository,
+                                     SigningKeyStore signingKeyStore,
+                                     @Value("${auth.jwt.keys.rotation-interval:P1D}") Duration rotationInterval,
+                                     @Value("${auth.jwt.keys.pre-publish:PT30M}") Duration prePublish,
+                                     @Value("${auth.jwt.keys.retention:PT2H}") Duration retention) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.signingKeyStore = signingKeyStore;
+        this.rotationInterval = rotationInterval;
+        this.prePublish = prePublish;
+        this.retention = retention;
+    }
+
+    // Sin clave activa no se puede emitir ningun token: si falla, falla el arranque
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Recarga las claves de la base (pueden haberlas creado otras replicas), retira las
+     * vencidas y crea la siguiente cuando la ultima ya esta firmando. Si dos replicas rotan a
+     * la vez quedan dos claves futuras; ambas se publican y firma la mas reciente.
+     */
+    @Scheduled(fixedDelayString = "${auth.jwt.keys.refresh-interval:60000}",
+            initialDelayString = "${auth.jwt.keys.refresh-interval:60000}")
+    public void refresh() {
+        Instant now = Instant.now();
+        List<SigningKey> keys = new ArrayList<>(signingKeyRepository.findAll());
+        keys.sort(Comparator.comparing(SigningKey::getActivatesAt).thenComparing(SigningKey::getKid));
+
+        // Una clave deja de firmar cuando se activa la siguiente
+        List<SigningKey> retired = new ArrayList<>();
+        for (int i = 0; i < keys.size() - 1; i++) {
+            Instant replacedAt = keys.get(i + 1).getActivatesAt();
+            if (replacedAt.plus(retention).isBefore(now)) {
+                retired.add(keys.get(i));
+            }
+        }
+        if (!retired.isEmpty()) {
+            signingKeyRepository.deleteAll(retired);
+            keys.removeAll(retired);
+            logger.info("🔑 Claves de firma retiradas: {}", retired.size());
+        }
+
+        if (keys.isEmpty()) {
+            keys.add(signingKeyRepository.save(SigningKeyStore.generate(now)));
+            logger.info("🔑 Clave de firma inicial creada");
+        }
+
+        Instant latest = keys.get(keys.size() - 1).getActivatesAt();
+        if (!latest.isAfter(now)) {
+            Instant activatesAt = latest.plus(rotationInterval);
+            if (activatesAt.isBefore(now.plus(prePublish))) {
+                activatesAt = now.plus(prePublish);
+            }
+            SigningKey next = signingKeyRepository.save(SigningKeyStore.generate(activatesAt));
+            keys.add(next);
+            logger.info("🔑 Clave de firma {} publicada, firma desde {}", next.getKid(), activatesAt);
+        }
+
+        signingKeyStore.load(keys, now);
+    }
+}
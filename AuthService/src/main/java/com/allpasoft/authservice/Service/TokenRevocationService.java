@@ -0,0 +1,93 @@
+package com.allpasoft.authservice.Service;
+
+import com.allpasoft.authservice.Config.RabbitMQConfig;
+import com.allpasoft.authservice.Dto.TokenRevokedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Revocacion de tokens (logout). El jti revocado se guarda localmente y se publica en el
+ * fanout {@code auth.revocaciones}, asi las otras replicas y el gateway lo rechazan sin
+ * consultar a la base de datos. Cada jti se olvida cuando vence el token.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConfirmingPublisher publisher;
+    private final Cache<String, Instant> revocados;
+
+    public TokenRevocationService(ConfirmingPublisher publisher,
+                                  @Value("${auth.revocation.max-size:1000000}") long maxSize) {
+        this.publisher = publisher;
+        this.revocados = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new RevocationExpiry())
+                .build();
+    }
+
+    /**
+     * Revoca el token ya verificado. Devuelve false si no tiene jti (tokens anteriores a la revocacion).
+     */
+    public boolean revocar(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId == null || claims.getExpiration() == null) {
+            return false;
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        registrar(tokenId, expiresAt);
+
+        TokenRevokedEvent event = new TokenRevokedEvent(tokenId, expiresAt.toEpochMilli());
+        try {
+            publisher.send(RabbitMQConfig.REVOCACIONES_EXCHANGE, "", objectMapper.writeValueAsString(event))
+                    .exceptionally(e -> {
+                        logger.error("❌ No se pudo publicar la revocacion de {}: {}", tokenId, e.getMessage());
+                        return null;
+                    });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return true;
+    }
+
+    public void registrar(String tokenId, Instant expiresAt) {
+        if (tokenId != null && expiresAt != null && expiresAt.isAfter(Instant.now())) {
+            revocados.put(tokenId, expiresAt);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revocados.getIfPresent(tokenId) != null;
+    }
+
+    private static class RevocationExpiry implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(Duration.between(Instant.now(), expiresAt).toNanos(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
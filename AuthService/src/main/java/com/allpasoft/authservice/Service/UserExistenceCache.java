@@ -0,0 +1,61 @@
+package com.allpasoft.authservice.Service;
+
+import com.allpasoft.authservice.Entity.User;
+import com.allpasoft.authservice.Repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache de corta duracion de los usuarios existentes (username -> rol) usada por /validate.
+ * Solo se guardan resultados positivos, asi un usuario recien registrado nunca queda
+ * bloqueado; las bajas se invalidan con el evento de usuario eliminado.
+ */
+@Component
+public class UserExistenceCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, String> roles;
+
+    public UserExistenceCache(UserRepository userRepository,
+                              @Value("${auth.user-cache.ttl:PT30S}") Duration ttl,
+                              @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.roles = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roles, "auth.users");
+    }
+
+    /**
+     * Devuelve el rol del usuario, o null si no existe.
+     */
+    public String getRole(String username) {
+        if (username == null) {
+            return null;
+        }
+        String role = roles.getIfPresent(username);
+        if (role != null) {
+            return role;
+        }
+        role = userRepository.findByUsername(username)
+                .map(User::getRole)
+                .orElse(null);
+        if (role != null) {
+            roles.put(username, role);
+        }
+        return role;
+    }
+
+    public void invalidate(String username) {
+        roles.invalidate(username);
+    }
+}
@@ -0,0 +1,62 @@
+"""
+Carga de articulos uno por uno (POST /articulos) vs en lote (POST /bulk/articulos, NDJSON).
+
+Cada usuario inserta BULK_SIZE articulos por tarea de cualquiera de las dos formas; comparar
+la columna "Requests/s" multiplicada por BULK_SIZE para el lote contra la de /articulos:
+
+    PUBLISH_HOST=http://localhost:8082 BULK_SIZE=500 \
+    locust -f testBulkImport.py --headless -u 20 -r 5 -t 2m --csv bulk
+
+Necesita autores con ids entre 1 y AUTOR_MAX (por ejemplo cargados con /bulk/autores).
+"""
+import json
+import os
+import random
+import time
+import uuid
+
+from locust import HttpUser, task, between
+
+PUBLISH_HOST = os.getenv("PUBLISH_HOST", "http://localhost:8082")
+BULK_SIZE = int(os.getenv("BULK_SIZE", "500"))
+AUTOR_MAX = int(os.getenv("AUTOR_MAX", "100"))
+
+
+def articulo():
+    unico = f"{uuid.uuid4().hex[:8]}.{int(time.time() * 1000)}"
+    return {
+        "titulo": f"Estudio de carga {unico}",
+        "anioPublicacion": random.randint(2015, 2024),
+        "editorial": "Editorial Academica",
+        "resumen": "Articulo generado para la prueba de carga masiva.",
+        "revista": f"Revista {unico}",
+        "doi": f"10.{random.randint(1000, 9999)}/{unico}",
+        "areaInvestigacion": "Literatura",
+        "fechaPublicacion": "2024-01-15",
+        "autorId": random.randint(1, AUTOR_MAX)
+    }
+
+
+class UnoPorUnoUser(HttpUser):
+    host = PUBLISH_HOST
+    wait_time = between(0.1, 0.5)
+
+    @task
+    def crear_articulo(self):
+        self.client.post("/articulos", json=articulo(), name="/articulos")
+
+
+class BulkUser(HttpUser):
+    host = PUBLISH_HOST
+    wait_time = between(0.1, 0.5)
+
+    @task
+    def importar_articulos(self):
+        cuerpo = "\n".join(json.dumps(articulo()) for _ in range(BULK_SIZE))
+        with self.client.post("/bulk/articulos", data=cuerpo,
+                              headers={"Content-Type": "application/x-ndjson"},
+                              name="/bulk/articulos", catch_response=True) as response:
+            if response.status_code != 200:
+                response.failure(f"Importacion fallida: {response.status_code}")
+            elif response.json().get("fallidos", 0) > 0:
+                response.failure(f"{response.json()['fallidos']} articulos rechazados")
@@ -0,0 +1,59 @@
+"""
+Comparacion pool de hilos de Tomcat vs hilos virtuales en AuthService y ms-publish.
+
+Mezcla login (BCrypt, CPU) con listados de libros (JPA, bloqueante). Correr la misma carga
+dos veces, con VIRTUAL_THREADS_ENABLED=false y =true en ambos servicios, y comparar
+"Requests/s" y "99%" en los CSV *_stats.csv:
+
+    AUTH_HOST=http://localhost:8081 PUBLISH_HOST=http://localhost:8082 \
+    locust -f testVirtualThreads.py --headless -u 2000 -r 200 -t 5m --csv platform
+    (reiniciar los servicios con VIRTUAL_THREADS_ENABLED=true)
+    locust -f testVirtualThreads.py --headless -u 2000 -r 200 -t 5m --csv virtual
+
+Con mas usuarios que hilos de Tomcat (200 por defecto) es donde se nota la diferencia.
+"""
+import os
+import random
+import string
+
+from locust import HttpUser, task, between
+
+AUTH_HOST = os.getenv("AUTH_HOST", "http://localhost:8081")
+PUBLISH_HOST = os.getenv("PUBLISH_HOST", "http://localhost:8082")
+
+
+class AuthUser(HttpUser):
+    host = AUTH_HOST
+    wait_time = between(0.1, 0.5)
+
+    def on_start(self):
+        sufijo = ''.join(random.choices(string.ascii_lowercase + string.digits, k=8))
+        self.username = f"carga_{sufijo}"
+        self.password = "clave-de-prueba"
+        self.client.post("/register", json={
+            "username": self.username,
+            "password": self.password,
+            "email": f"{self.username}@espe.edu.ec"
+        }, name="/register")
+
+    @task
+    def login(self):
+        with self.client.post("/login", json={
+            "username": self.username,
+            "password": self.password
+        }, name="/login", catch_response=True) as response:
+            if response.status_code != 200:
+                response.failure(f"Login fallido: {response.status_code}")
+
+
+class PublishUser(HttpUser):
+    host = PUBLISH_HOST
+    wait_time = between(0.1, 0.5)
+
+    @task(3)
+    def listar_libros(self):
+        self.client.get("/?size=20", name="/ (libros)")
+
+    @task(1)
+    def listar_autores(self):
+        self.client.get("/autores?size=20", name="/autores")
@@ -0,0 +1,28 @@
+package espe.edu.ec.benchmarks;
+
+import com.allpasoft.authservice.JwtUtils.SigningKeyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claves de firma en memoria para los benchmarks (sin la tabla signing_keys).
+ */
+final class BenchmarkKeys {
+
+    private BenchmarkKeys() {
+    }
+
+    static SigningKeyStore signingKeyStore() {
+        Instant now = Instant.now();
+        SigningKeyStore store = new SigningKeyStore();
+        store.load(List.of(SigningKeyStore.generate(now.minusSeconds(1))), now);
+        return store;
+    }
+
+    static String jwks(SigningKeyStore store) throws Exception {
+        return new ObjectMapper().writeValueAsString(Map.of("keys", store.getJwks()));
+    }
+}
@@ -0,0 +1,31 @@
+package espe.edu.ec.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de target/benchmarks.jar. Acepta las mismas opciones que
+ * org.openjdk.jmh.Main, pero por defecto escribe los resultados en JSON
+ * (target/jmh-result.json) para compararlos entre versiones.
+ *
+ * <pre>
+ * mvn -pl benchmarks -am -DskipTests package
+ * java -jar benchmarks/target/benchmarks.jar                      # todas las suites
+ * java -jar benchmarks/target/benchmarks.jar SyncServiceBenchmark -rff sync.json
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(cli)
+                .resultFormat(cli.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cli.getResult().orElse("target/jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
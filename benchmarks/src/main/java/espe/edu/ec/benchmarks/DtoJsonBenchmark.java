@@ -0,0 +1,99 @@
+package espe.edu.ec.benchmarks;
+
+import com.allpasoft.sync.dto.ClientTimeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import espe.edu.ec.catalogo.dto.CatalogDto;
+import espe.edu.ec.notificaciones.dto.NotificacionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import publicaciones.dto.CatalogoDto;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mensajes JSON que viajan por RabbitMQ: se serializa el DTO del productor
+ * (ms-publish o el nodo) y se deserializa en el DTO del consumidor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoJsonBenchmark {
+
+    // Misma configuracion que el ObjectMapper de Spring Boot que inyectan los listeners
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ObjectWriter writer;
+    private ObjectReader catalogReader;
+    private ObjectReader clientTimeReader;
+    private ObjectReader notificacionReader;
+
+    private CatalogoDto catalogo;
+    private publicaciones.dto.ClientTimeDto clientTime;
+    private publicaciones.dto.NotificacionDto notificacion;
+
+    private String catalogoJson;
+    private String clientTimeJson;
+    private String notificacionJson;
+
+    @Setup
+    public void setup() throws Exception {
+        writer = mapper.writer();
+        catalogReader = mapper.readerFor(CatalogDto.class);
+        clientTimeReader = mapper.readerFor(ClientTimeDto.class);
+        notificacionReader = mapper.readerFor(NotificacionDto.class);
+
+        catalogo = new CatalogoDto("Cien años de soledad", "Gabriel García Márquez",
+                "Historia de la familia Buendía en Macondo", "Nuevo libro publicado");
+        clientTime = new publicaciones.dto.ClientTimeDto("ms-publish", 1_700_000_000_000L,
+                1_699_999_990_000L, 1_699_999_990_012L);
+        notificacion = new publicaciones.dto.NotificacionDto("Nuevo libro publicado: Cien años de soledad", "libro");
+
+        catalogoJson = writer.writeValueAsString(catalogo);
+        clientTimeJson = writer.writeValueAsString(clientTime);
+        notificacionJson = writer.writeValueAsString(notificacion);
+    }
+
+    @Benchmark
+    public String serializeCatalogo() throws Exception {
+        return writer.writeValueAsString(catalogo);
+    }
+
+    @Benchmark
+    public CatalogDto deserializeCatalogo() throws Exception {
+        return catalogReader.readValue(catalogoJson);
+    }
+
+    @Benchmark
+    public String serializeClientTime() throws Exception {
+        return writer.writeValueAsString(clientTime);
+    }
+
+    @Benchmark
+    public ClientTimeDto deserializeClientTime() throws Exception {
+        return clientTimeReader.readValue(clientTimeJson);
+    }
+
+    @Benchmark
+    public String serializeNotificacion() throws Exception {
+        return writer.writeValueAsString(notificacion);
+    }
+
+    @Benchmark
+    public NotificacionDto deserializeNotificacion() throws Exception {
+        return notificacionReader.readValue(notificacionJson);
+    }
+}
@@ -0,0 +1,151 @@
+package espe.edu.ec.benchmarks;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts por segundo de una jerarquia JOINED como Publicacion/Libro segun la generacion de ids:
+ * {@code IDENTITY} (antes), secuencia pooled sin batches y secuencia pooled con
+ * hibernate.jdbc.batch_size (despues). Cada invocacion persiste {@link #FILAS} libros en una
+ * transaccion. Necesita una base real; las tablas bench_* se crean y se borran en cada corrida:
+ *
+ * <pre>
+ * cockroach start-single-node --insecure &amp;&amp; cockroach sql --insecure -e "CREATE DATABASE bench"
+ * java -Dbench.db.url="jdbc:postgresql://localhost:26257/bench?sslmode=disable&amp;reWriteBatchedInserts=true" \
+ *      -jar benchmarks/target/benchmarks.jar EntityInsertBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityInsertBenchmark {
+
+    private static final int FILAS = 500;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"IDENTITY", "POOLED_SIN_BATCH", "POOLED"})
+    private String estrategia;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        boolean identity = "IDENTITY".equals(estrategia);
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("bench.db.url",
+                        "jdbc:postgresql://localhost:26257/bench?sslmode=disable&reWriteBatchedInserts=true"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("bench.db.user", "root"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("bench.db.password", ""))
+                .applySetting(AvailableSettings.DIALECT, "org.hibernate.dialect.PostgreSQLDialect")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, "POOLED".equals(estrategia) ? BATCH_SIZE : 1)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        if (identity) {
+            sources.addAnnotatedClass(IdentityPublicacion.class).addAnnotatedClass(IdentityLibro.class);
+        } else {
+            sources.addAnnotatedClass(PooledPublicacion.class).addAnnotatedClass(PooledLibro.class);
+        }
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public void insertarLibros() {
+        boolean identity = "IDENTITY".equals(estrategia);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < FILAS; i++) {
+                if (identity) {
+                    IdentityLibro libro = new IdentityLibro();
+                    libro.titulo = "Libro " + i;
+                    libro.resumen = "Resumen del libro " + i;
+                    libro.genero = "Novela";
+                    libro.numPaginas = 100 + i;
+                    session.persist(libro);
+                } else {
+                    PooledLibro libro = new PooledLibro();
+                    libro.titulo = "Libro " + i;
+                    libro.resumen = "Resumen del libro " + i;
+                    libro.genero = "Novela";
+                    libro.numPaginas = 100 + i;
+                    session.persist(libro);
+                }
+            }
+        });
+    }
+
+    @Entity(name = "BenchIdentityPublicacion")
+    @Table(name = "bench_identity_publicacion")
+    @Inheritance(strategy = InheritanceType.JOINED)
+    public abstract static class IdentityPublicacion {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        String titulo;
+        String resumen;
+    }
+
+    @Entity(name = "BenchIdentityLibro")
+    @Table(name = "bench_identity_libro")
+    public static class IdentityLibro extends IdentityPublicacion {
+        String genero;
+        int numPaginas;
+    }
+
+    @Entity(name = "BenchPooledPublicacion")
+    @Table(name = "bench_pooled_publicacion")
+    @Inheritance(strategy = InheritanceType.JOINED)
+    public abstract static class PooledPublicacion {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_pooled_publicacion_seq")
+        @SequenceGenerator(name = "bench_pooled_publicacion_seq", sequenceName = "bench_pooled_publicacion_seq", allocationSize = 50)
+        Long id;
+        String titulo;
+        String resumen;
+    }
+
+    @Entity(name = "BenchPooledLibro")
+    @Table(name = "bench_pooled_libro")
+    public static class PooledLibro extends PooledPublicacion {
+        String genero;
+        int numPaginas;
+    }
+}
@@ -0,0 +1,99 @@
+package espe.edu.ec.benchmarks;
+
+import com.allpasoft.authservice.JwtUtils.JwtUtils;
+import com.allpasoft.authservice.JwtUtils.SigningKeyStore;
+import com.allpasoft.msapigateway.filter.JwtAuthenticationFilter;
+import com.allpasoft.msapigateway.security.JwksKeyProvider;
+import com.allpasoft.msapigateway.security.JwtTokenVerifier;
+import com.allpasoft.msapigateway.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro JWT del gateway sobre una peticion simulada. {@code cachedToken} repite el mismo
+ * token (acierto de cache); {@code coldToken} rota sobre tokens distintos con una cache
+ * minima, asi cada peticion verifica la firma.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayJwtFilterBenchmark {
+
+    private static final int COLD_TOKENS = 4096;
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    private GatewayFilter cachedFilter;
+    private GatewayFilter coldFilter;
+    private String token;
+    private String[] coldTokens;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        SigningKeyStore keyStore = BenchmarkKeys.signingKeyStore();
+        // Las claves se cargan del JWKS directamente, sin el refresco por HTTP
+        JwksKeyProvider keyProvider = new JwksKeyProvider(WebClient.builder(), "http://localhost/.well-known/jwks.json",
+                Duration.ofMinutes(5), Duration.ofSeconds(10), new SimpleMeterRegistry());
+        keyProvider.load(BenchmarkKeys.jwks(keyStore));
+
+        cachedFilter = filter(keyProvider, 10_000);
+        coldFilter = filter(keyProvider, 1);
+
+        JwtUtils jwtUtils = new JwtUtils(keyStore);
+        token = jwtUtils.generateToken("bench-user", "USER");
+        coldTokens = new String[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            coldTokens[i] = jwtUtils.generateToken("bench-user-" + i, "USER");
+        }
+    }
+
+    @Benchmark
+    public HttpStatusCode cachedToken() {
+        return run(cachedFilter, token);
+    }
+
+    @Benchmark
+    public HttpStatusCode coldToken() {
+        String t = coldTokens[next];
+        next = (next + 1) % COLD_TOKENS;
+        return run(coldFilter, t);
+    }
+
+    private HttpStatusCode run(GatewayFilter filter, String bearer) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/libros")
+                        .header("Authorization", "Bearer " + bearer));
+        filter.filter(exchange, chain).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private static GatewayFilter filter(JwksKeyProvider keyProvider, long cacheSize) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtTokenVerifier verifier = new JwtTokenVerifier(keyProvider, cacheSize, Duration.ofMinutes(15), registry);
+        TokenRevocationList revocationList = new TokenRevocationList(1000, registry);
+        return new JwtAuthenticationFilter(verifier, revocationList).apply(new JwtAuthenticationFilter.Config());
+    }
+}
@@ -0,0 +1,108 @@
+package espe.edu.ec.benchmarks;
+
+import com.allpasoft.msapigateway.filter.JwtAuthenticationFilter;
+import com.allpasoft.msapigateway.filter.RateLimitFilter;
+import com.allpasoft.msapigateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del RateLimitFilter por peticion. {@code baseline} recorre la misma peticion simulada
+ * con un filtro que no hace nada; la diferencia con {@code rateLimited} es la latencia que
+ * agrega el limite. Los limites son altos para que ninguna peticion se rechace. Con 8 hilos
+ * sobre 1000 usuarios se mide tambien la contencion entre franjas del store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    private static final int USERS = 1000;
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+    private final GatewayFilter baselineFilter = (exchange, chain) -> chain.filter(exchange);
+
+    private Route route;
+    private TokenBucketStore store;
+    private GatewayFilter rateLimitFilter;
+    private String[] users;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup
+    public void setup() {
+        route = Route.async()
+                .id("servicio-publicaciones")
+                .uri("http://localhost")
+                .predicate(exchange -> true)
+                .build();
+        store = new TokenBucketStore(64, 100_000);
+
+        RateLimitFilter.Config config = new RateLimitFilter.Config();
+        config.setCapacity(1_000_000_000L);
+        config.setRefillRate(1_000_000_000d);
+        rateLimitFilter = new RateLimitFilter(store, new SimpleMeterRegistry()).apply(config);
+
+        users = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = "bench-user-" + i;
+        }
+    }
+
+    @Benchmark
+    public HttpStatusCode baseline(Cursor cursor) {
+        return run(baselineFilter, nextUser(cursor));
+    }
+
+    @Benchmark
+    public HttpStatusCode rateLimited(Cursor cursor) {
+        return run(rateLimitFilter, nextUser(cursor));
+    }
+
+    @Benchmark
+    public long storeTryConsume(Cursor cursor) {
+        return store.tryConsume("servicio-publicaciones u:" + nextUser(cursor), 1_000_000_000L, 1_000_000_000d);
+    }
+
+    private String nextUser(Cursor cursor) {
+        String user = users[cursor.next];
+        cursor.next = (cursor.next + 1) % USERS;
+        return user;
+    }
+
+    private HttpStatusCode run(GatewayFilter filter, String user) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/libros")
+                        .header(JwtAuthenticationFilter.USER_ID_HEADER, user));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        filter.filter(exchange, chain).block();
+        return exchange.getResponse().getStatusCode();
+    }
+}
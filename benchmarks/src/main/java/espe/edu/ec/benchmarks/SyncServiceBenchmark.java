@@ -0,0 +1,120 @@
+package espe.edu.ec.benchmarks;
+
+import com.allpasoft.sync.dto.ClientTimeDto;
+import com.allpasoft.sync.dto.SyncResultDto;
+import com.allpasoft.sync.services.ConfirmingPublisher;
+import com.allpasoft.sync.services.SyncService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ronda de sincronizacion de sync con miles de nodos: {@code round} registra un reporte por
+ * nodo y ejecuta synchronizeClocks (estimacion, consenso, serializacion y envio del ajuste);
+ * {@code calcularAjustes} mide solo el calculo. RabbitMQ se reemplaza por un template que
+ * confirma cada mensaje al instante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyncServiceBenchmark {
+
+    @Param({"1000", "5000", "20000"})
+    private int nodes;
+
+    private SyncService syncService;
+    private ConfirmingPublisher publisher;
+    private ClientTimeDto[] reportes;
+    private long[] llegadas;
+    private Map<String, SyncService.ClockSample> ronda;
+    private PrintStream stdout;
+
+    @Setup
+    public void setup() {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate() {
+            @Override
+            public void convertAndSend(String exchange, String routingKey, Object message, CorrelationData correlationData) {
+                correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            }
+        };
+        publisher = new ConfirmingPublisher(rabbitTemplate, new SimpleMeterRegistry(), 256, 5000, 1, 200, 10000);
+
+        syncService = new SyncService();
+        ReflectionTestUtils.setField(syncService, "publisher", publisher);
+        ReflectionTestUtils.setField(syncService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(syncService, "minNodes", 2);
+        ReflectionTestUtils.setField(syncService, "maxRtt", 2000L);
+        ReflectionTestUtils.setField(syncService, "outlierTolerance", 50L);
+        ReflectionTestUtils.setField(syncService, "echoMaxAge", 60000L);
+
+        // Relojes con deriva de +-200 ms, latencias de 1 a 40 ms y un 2% de nodos atipicos
+        Random random = new Random(42);
+        long ahora = 1_700_000_000_000L;
+        reportes = new ClientTimeDto[nodes];
+        llegadas = new long[nodes];
+        ronda = new HashMap<>();
+        for (int i = 0; i < nodes; i++) {
+            long deriva = random.nextInt(401) - 200;
+            if (random.nextInt(50) == 0) {
+                deriva += 5000;
+            }
+            long ida = 1 + random.nextInt(20);
+            long vuelta = 1 + random.nextInt(20);
+            long t0 = ahora - 5000;
+            long t1 = t0 + ida + deriva;
+            long t2 = ahora + deriva;
+            long t3 = ahora + vuelta;
+            reportes[i] = new ClientTimeDto("nodo-" + i, t2, t0, t1);
+            llegadas[i] = t3;
+            ronda.put("nodo-" + i, new SyncService.ClockSample(deriva, ida + vuelta));
+        }
+
+        // synchronizeClocks imprime el mapa de ajustes; no se mide la consola
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+        publisher.shutdown();
+    }
+
+    @Benchmark
+    public SyncResultDto round() {
+        for (int i = 0; i < nodes; i++) {
+            syncService.registerClientTime(reportes[i], llegadas[i]);
+        }
+        syncService.synchronizeClocks();
+        return syncService.getUltimoResultado();
+    }
+
+    @Benchmark
+    public SyncResultDto calcularAjustes() {
+        return syncService.calcularAjustes(ronda);
+    }
+}
@@ -0,0 +1,133 @@
+package espe.edu.ec.benchmarks;
+
+import com.allpasoft.authservice.Dto.TokenValidationResponse;
+import com.allpasoft.authservice.Entity.User;
+import com.allpasoft.authservice.JwtUtils.JwtUtils;
+import com.allpasoft.authservice.Repository.UserRepository;
+import com.allpasoft.authservice.Service.AuthService;
+import com.allpasoft.authservice.Service.TokenRevocationService;
+import com.allpasoft.authservice.Service.UserExistenceCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Validaciones por segundo de /validate: flujo anterior (tres parseos, clave nueva en cada
+ * parseo y una consulta a la base por validacion) contra el actual (un parseo y cache de usuarios).
+ * {@code dbLatencyMicros} simula el round-trip a la base de datos. El flujo anterior firmaba
+ * con HMAC; el actual verifica ES256, que cuesta mas por firma y se compensa con un solo parseo.
+ * Cada flujo valida un token firmado como lo firmaba su version (HS256 y ES256).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateTokenBenchmark {
+
+    private static final String SECRET = "una_clave_muy_segura_1234567890123456";
+
+    @Param({"0", "300"})
+    private long dbLatencyMicros;
+
+    private UserRepository userRepository;
+    private AuthService authService;
+    private String token;
+    private String legacyToken;
+
+    @Setup
+    public void setup() {
+        User user = new User(1L, "bench-user", "x", "bench@example.com", "USER");
+        userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        if (dbLatencyMicros > 0) {
+                            LockSupport.parkNanos(dbLatencyMicros * 1000L);
+                        }
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        JwtUtils jwtUtils = new JwtUtils(BenchmarkKeys.signingKeyStore());
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "userExistenceCache",
+                new UserExistenceCache(userRepository, Duration.ofSeconds(30), 10_000, new SimpleMeterRegistry()));
+        // Sin publisher: validateToken solo consulta la lista local de revocados
+        ReflectionTestUtils.setField(authService, "tokenRevocationService", new TokenRevocationService(null, 10_000));
+        token = jwtUtils.generateToken(user.getUsername(), user.getRole());
+        Date ahora = new Date();
+        legacyToken = Jwts.builder()
+                .subject(user.getUsername())
+                .claim("role", user.getRole())
+                .issuedAt(ahora)
+                .expiration(new Date(ahora.getTime() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+
+        // Un error de armado haria medir la ruta de error en vez de la validacion
+        if (!validate().isValid()) {
+            throw new IllegalStateException("validate() no acepta el token del benchmark");
+        }
+        if (!validateLegacy().isValid()) {
+            throw new IllegalStateException("validateLegacy() no acepta el token del benchmark");
+        }
+    }
+
+    @Benchmark
+    public TokenValidationResponse validate() {
+        return authService.validateToken(token);
+    }
+
+    @Benchmark
+    public TokenValidationResponse validateLegacy() {
+        try {
+            Claims claims = legacyParse(legacyToken);
+            if (!claims.getExpiration().after(new Date())) {
+                return new TokenValidationResponse(false, null, null);
+            }
+            String username = legacyParse(legacyToken).getSubject();
+            String role = legacyParse(legacyToken).get("role", String.class);
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return new TokenValidationResponse(false, null, null);
+            }
+            return new TokenValidationResponse(true, username, role != null ? role : user.getRole());
+        } catch (Exception e) {
+            return new TokenValidationResponse(false, null, null);
+        }
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
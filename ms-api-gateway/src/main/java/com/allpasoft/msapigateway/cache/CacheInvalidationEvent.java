@@ -0,0 +1,21 @@
+package com.allpasoft.msapigateway.cache;
+
+public class CacheInvalidationEvent {
+
+    private String region;
+
+    public CacheInvalidationEvent() {
+    }
+
+    public CacheInvalidationEvent(String region) {
+        this.region = region;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+}
@@ -0,0 +1,44 @@
+package com.allpasoft.msapigateway.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Respuesta GET guardada en la cache del gateway: solo el cuerpo y las cabeceras que
+ * hacen falta para reproducirla.
+ */
+public class CachedResponse {
+
+    private final byte[] body;
+    private final MediaType contentType;
+    private final String etag;
+    private final long storedAtMillis;
+    private final long ttlMillis;
+
+    public CachedResponse(byte[] body, MediaType contentType, String etag, long storedAtMillis, long ttlMillis) {
+        this.body = body;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.storedAtMillis = storedAtMillis;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getStoredAtMillis() {
+        return storedAtMillis;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+}
@@ -0,0 +1,136 @@
+package com.allpasoft.msapigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache en memoria de respuestas GET, acotada por bytes de cuerpo. Las claves se agrupan
+ * por region (una por servicio) para invalidarlas juntas cuando cambian sus datos. Cada
+ * region lleva una generacion: una respuesta que empezo antes de una invalidacion no se
+ * guarda al terminar, asi nunca vuelve un dato ya invalidado.
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, AtomicLong> generaciones = new ConcurrentHashMap<>();
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter invalidaciones;
+
+    public ResponseCache(@Value("${gateway.cache.max-size-bytes:67108864}") long maxSizeBytes,
+                         MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.getBody().length)
+                .expireAfter(new ResponseExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.responses");
+        this.invalidaciones = Counter.builder("gateway.cache.invalidations")
+                .register(meterRegistry);
+    }
+
+    // El rol entra en la clave: los servicios filtran lo que devuelven segun X-User-Role
+    public static String key(String region, String uri, String accept, String role) {
+        return region + ' ' + uri + ' ' + (accept != null ? accept : "") + ' ' + (role != null ? role : "");
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long generacion(String region) {
+        return generaciones.computeIfAbsent(region, r -> new AtomicLong()).get();
+    }
+
+    /**
+     * Guarda la respuesta solo si la region no se invalido desde {@code generacion}.
+     */
+    public void put(String region, long generacion, String key, CachedResponse response) {
+        if (generacion(region) != generacion) {
+            return;
+        }
+        cache.put(key, response);
+        // Una invalidacion concurrente pudo correr entre la comprobacion y el put
+        if (generacion(region) != generacion) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidar(String region) {
+        generaciones.computeIfAbsent(region, r -> new AtomicLong()).incrementAndGet();
+        String prefijo = region + ' ';
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefijo));
+        invalidaciones.increment();
+    }
+
+    public void hit(String routeId) {
+        stats(routeId).hits.increment();
+    }
+
+    public void miss(String routeId) {
+        stats(routeId).misses.increment();
+    }
+
+    // Contadores y ratio de aciertos por ruta, visibles en /actuator/metrics
+    private RouteStats stats(String routeId) {
+        return stats.computeIfAbsent(routeId, id -> {
+            RouteStats route = new RouteStats();
+            FunctionCounter.builder("gateway.cache.requests", route.hits, LongAdder::sum)
+                    .tag("route", id).tag("result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.cache.requests", route.misses, LongAdder::sum)
+                    .tag("route", id).tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.cache.hit.ratio", route, RouteStats::hitRatio)
+                    .tag("route", id)
+                    .register(meterRegistry);
+            return route;
+        });
+    }
+
+    private static class RouteStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private double hitRatio() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? 0 : (double) h / total;
+        }
+    }
+
+    private static class ResponseExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(response.getTtlMillis());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.allpasoft.msapigateway.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "gateway.cache.invalidation.enabled", havingValue = "true")
+public class ResponseCacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheInvalidationListener.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResponseCache responseCache;
+
+    public ResponseCacheInvalidationListener(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @RabbitListener(queues = "#{cacheInvalidacionesQueue.name}")
+    public void invalidar(String messageJson) {
+        try {
+            CacheInvalidationEvent event = objectMapper.readValue(messageJson, CacheInvalidationEvent.class);
+            responseCache.invalidar(event.getRegion());
+            logger.debug("Cache invalidada: {}", event.getRegion());
+        } catch (Exception e) {
+            logger.error("Evento de invalidacion invalido: {}", e.getMessage());
+        }
+    }
+}
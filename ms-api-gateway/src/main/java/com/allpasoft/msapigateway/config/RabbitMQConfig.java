@@ -0,0 +1,61 @@
+package com.allpasoft.msapigateway.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String REVOCACIONES_EXCHANGE = "auth.revocaciones";
+    public static final String CACHE_INVALIDACIONES_EXCHANGE = "gateway.cache.invalidaciones";
+
+    // Cada replica del gateway recibe todas las revocaciones en su propia cola anonima
+    @Configuration
+    @ConditionalOnProperty(name = "jwt.revocation.enabled", havingValue = "true")
+    static class Revocaciones {
+
+        @Bean
+        public FanoutExchange revocacionesExchange() {
+            return ExchangeBuilder.fanoutExchange(REVOCACIONES_EXCHANGE).durable(true).build();
+        }
+
+        @Bean
+        public Queue revocacionesQueue() {
+            return new AnonymousQueue(new Base64UrlNamingStrategy(REVOCACIONES_EXCHANGE + "."));
+        }
+
+        @Bean
+        public Binding revocacionesBinding(Queue revocacionesQueue, FanoutExchange revocacionesExchange) {
+            return BindingBuilder.bind(revocacionesQueue).to(revocacionesExchange);
+        }
+    }
+
+    // Cambios publicados por ms-publish y ms-catalogo para vaciar la cache de respuestas
+    @Configuration
+    @ConditionalOnProperty(name = "gateway.cache.invalidation.enabled", havingValue = "true")
+    static class CacheInvalidaciones {
+
+        @Bean
+        public FanoutExchange cacheInvalidacionesExchange() {
+            return ExchangeBuilder.fanoutExchange(CACHE_INVALIDACIONES_EXCHANGE).durable(true).build();
+        }
+
+        @Bean
+        public Queue cacheInvalidacionesQueue() {
+            return new AnonymousQueue(new Base64UrlNamingStrategy(CACHE_INVALIDACIONES_EXCHANGE + "."));
+        }
+
+        @Bean
+        public Binding cacheInvalidacionesBinding(Queue cacheInvalidacionesQueue, FanoutExchange cacheInvalidacionesExchange) {
+            return BindingBuilder.bind(cacheInvalidacionesQueue).to(cacheInvalidacionesExchange);
+        }
+    }
+}
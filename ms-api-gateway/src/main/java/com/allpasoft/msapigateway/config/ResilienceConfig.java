@@ -0,0 +1,75 @@
+package com.allpasoft.msapigateway.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breakers de las rutas (filtro CircuitBreaker, uno por {@code name}). Los tiempos
+ * los cortan los timeouts de cada ruta; el TimeLimiter de Resilience4J esta desactivado
+ * porque mediria tambien las respuestas en streaming.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> defaultCircuitBreaker(
+            @Value("${gateway.resilience.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${gateway.resilience.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${gateway.resilience.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${gateway.resilience.wait-in-open-state:PT10S}") Duration waitInOpenState,
+            @Value("${gateway.resilience.half-open-calls:5}") int halfOpenCalls) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        return factory -> factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(config)
+                .build());
+    }
+
+    // Estado y llamadas rechazadas de cada breaker en /actuator/metrics
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> circuitBreakerMetrics(MeterRegistry meterRegistry) {
+        return factory -> {
+            CircuitBreakerRegistry registry = factory.getCircuitBreakerRegistry();
+            registry.getAllCircuitBreakers().forEach(circuitBreaker -> registrar(circuitBreaker, meterRegistry));
+            registry.getEventPublisher().onEntryAdded(event -> registrar(event.getAddedEntry(), meterRegistry));
+        };
+    }
+
+    private static void registrar(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        String name = circuitBreaker.getName();
+        // 0 cerrado, 1 abierto, 2 semiabierto, 3 otro (deshabilitado, forzado...)
+        Gauge.builder("gateway.circuitbreaker.state", circuitBreaker, cb -> switch (cb.getState()) {
+                    case CLOSED -> 0;
+                    case OPEN -> 1;
+                    case HALF_OPEN -> 2;
+                    default -> 3;
+                })
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.circuitbreaker.failure.rate", circuitBreaker, cb -> cb.getMetrics().getFailureRate())
+                .tag("name", name)
+                .register(meterRegistry);
+        Counter rechazadas = Counter.builder("gateway.circuitbreaker.not.permitted")
+                .tag("name", name)
+                .register(meterRegistry);
+        circuitBreaker.getEventPublisher().onCallNotPermitted(event -> rechazadas.increment());
+    }
+}
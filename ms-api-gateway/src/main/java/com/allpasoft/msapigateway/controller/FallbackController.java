@@ -0,0 +1,27 @@
+package com.allpasoft.msapigateway.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// Respuesta inmediata cuando el circuit breaker de una ruta esta abierto o la llamada falla
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    @RequestMapping("/{servicio}")
+    public Mono<ResponseEntity<Map<String, String>>> fallback(@PathVariable String servicio) {
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of(
+                        "service", servicio,
+                        "status", "UNAVAILABLE",
+                        "message", "El servicio no está disponible, intente más tarde")));
+    }
+}
@@ -0,0 +1,78 @@
+package com.allpasoft.msapigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limita las peticiones en curso hacia el servicio de la ruta. Sin cupo se responde 503 al
+ * instante en vez de esperar, asi un backend lento no acumula conexiones del gateway.
+ */
+@Component
+public class BulkheadFilter extends AbstractGatewayFilterFactory<BulkheadFilter.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "";
+            Bulkhead bulkhead = bulkheads.computeIfAbsent(routeId, id -> new Bulkhead(id, config.getMaxConcurrent()));
+
+            if (!bulkhead.permisos.tryAcquire()) {
+                bulkhead.rechazos.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+            return Mono.defer(() -> chain.filter(exchange))
+                    .doFinally(signal -> bulkhead.permisos.release());
+        };
+    }
+
+    private class Bulkhead {
+        private final Semaphore permisos;
+        private final Counter rechazos;
+
+        private Bulkhead(String routeId, int maxConcurrent) {
+            this.permisos = new Semaphore(maxConcurrent);
+            this.rechazos = Counter.builder("gateway.bulkhead.rejected")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.bulkhead.active", permisos, p -> maxConcurrent - p.availablePermits())
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+    }
+
+    public static class Config {
+        private int maxConcurrent = 100;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+}
@@ -1,27 +1,31 @@
 package com.allpasoft.msapigateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.allpasoft.msapigateway.security.JwtTokenVerifier;
+import com.allpasoft.msapigateway.security.TokenRevocationList;
+import com.allpasoft.msapigateway.security.VerifiedToken;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret:una_clave_muy_segura_1234567890123456}")
-    private String jwtSecret;
+    // Claims verificados que se propagan a los servicios; nunca se aceptan del cliente
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String TOKEN_EXP_HEADER = "X-Token-Exp";
+
+    private final JwtTokenVerifier tokenVerifier;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(JwtTokenVerifier tokenVerifier, TokenRevocationList revocationList) {
         super(Config.class);
+        this.tokenVerifier = tokenVerifier;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -30,7 +34,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             String path = exchange.getRequest().getURI().getPath();
             
             if (path.startsWith("/auth/") || path.equals("/actuator/health") || path.equals("/")) {
-                return chain.filter(exchange);
+                return chain.filter(exchange.mutate().request(sinClaims(exchange.getRequest())).build());
             }
 
             String authHeader = exchange.getRequest().getHeaders().getFirst("Authorization");
@@ -41,26 +45,43 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
             String token = authHeader.substring(7);
             
+            VerifiedToken verified;
             try {
-                SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
-                
-                exchange.getRequest().mutate()
-                        .header("X-User-Id", claims.getSubject())
-                        .build();
-                
-                return chain.filter(exchange);
-                
+                verified = tokenVerifier.verify(token);
             } catch (Exception e) {
                 return onError(exchange, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
             }
+
+            if (revocationList.isRevoked(verified)) {
+                return onError(exchange, "Revoked JWT token", HttpStatus.UNAUTHORIZED);
+            }
+
+            ServerHttpRequest request = sinClaims(exchange.getRequest()).mutate()
+                    .headers(headers -> {
+                        headers.set(USER_ID_HEADER, verified.getSubject());
+                        if (verified.getRole() != null) {
+                            headers.set(USER_ROLE_HEADER, verified.getRole());
+                        }
+                        if (verified.getExpiresAt() != null) {
+                            headers.set(TOKEN_EXP_HEADER, String.valueOf(verified.getExpiresAt().getEpochSecond()));
+                        }
+                    })
+                    .build();
+
+            return chain.filter(exchange.mutate().request(request).build());
         };
     }
 
+    private static ServerHttpRequest sinClaims(ServerHttpRequest request) {
+        return request.mutate()
+                .headers(headers -> {
+                    headers.remove(USER_ID_HEADER);
+                    headers.remove(USER_ROLE_HEADER);
+                    headers.remove(TOKEN_EXP_HEADER);
+                })
+                .build();
+    }
+
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
         exchange.getResponse().setStatusCode(httpStatus);
         return exchange.getResponse().setComplete();
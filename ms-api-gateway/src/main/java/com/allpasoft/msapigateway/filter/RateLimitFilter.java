@@ -0,0 +1,145 @@
+package com.allpasoft.msapigateway.filter;
+
+import com.allpasoft.msapigateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.ipfilter.IpFilterRuleType;
+import io.netty.handler.ipfilter.IpSubnetFilterRule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limite de peticiones por usuario (subject del JWT) y ruta con token buckets locales.
+ * Con {@code key: IP} se limita por direccion del cliente, para rutas sin JWT como /auth.
+ * X-Forwarded-For solo se lee si la conexion viene de un proxy listado en
+ * {@code gateway.rate-limit.trusted-proxies}; por el NodePort cualquiera puede mandarlo.
+ * Al agotarse responde 429 con Retry-After.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    public enum KeyType {
+        USER, IP
+    }
+
+    // Solo se confia en la ultima entrada de X-Forwarded-For (la agrega el proxy de confianza)
+    private static final XForwardedRemoteAddressResolver FORWARDED_ADDRESS = XForwardedRemoteAddressResolver.maxTrustedIndex(1);
+
+    private final TokenBucketStore tokenBucketStore;
+    private final MeterRegistry meterRegistry;
+    private final List<IpSubnetFilterRule> trustedProxies;
+    private final Map<String, Counter> rechazos = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(TokenBucketStore tokenBucketStore, MeterRegistry meterRegistry,
+                           @Value("${gateway.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        super(Config.class);
+        this.tokenBucketStore = tokenBucketStore;
+        this.meterRegistry = meterRegistry;
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(cidr -> !cidr.isEmpty())
+                .map(RateLimitFilter::subred)
+                .toList();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "";
+
+            long waitNanos = tokenBucketStore.tryConsume(routeId + ' ' + cliente(exchange, config),
+                    config.getCapacity(), config.getRefillRate());
+            if (waitNanos == 0) {
+                return chain.filter(exchange);
+            }
+
+            rechazos.computeIfAbsent(routeId, id -> Counter.builder("gateway.ratelimit.rejected")
+                    .tag("route", id)
+                    .register(meterRegistry)).increment();
+            long retryAfter = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    // X-User-Id lo pone JwtAuthenticationFilter (que descarta el que manda el cliente),
+    // por eso este filtro va despues de el en la ruta
+    private String cliente(ServerWebExchange exchange, Config config) {
+        if (config.getKey() == KeyType.USER) {
+            String userId = exchange.getRequest().getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER);
+            if (userId != null) {
+                return "u:" + userId;
+            }
+        }
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        if (address != null && !address.isUnresolved() && esProxyConfiable(address)) {
+            address = FORWARDED_ADDRESS.resolve(exchange);
+        }
+        return "ip:" + (address != null ? address.getHostString() : "desconocida");
+    }
+
+    private boolean esProxyConfiable(InetSocketAddress address) {
+        for (IpSubnetFilterRule proxy : trustedProxies) {
+            if (proxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Acepta "10.0.0.0/8" o una IP sola
+    private static IpSubnetFilterRule subred(String cidr) {
+        int barra = cidr.indexOf('/');
+        if (barra < 0) {
+            return new IpSubnetFilterRule(cidr, cidr.contains(":") ? 128 : 32, IpFilterRuleType.ACCEPT);
+        }
+        return new IpSubnetFilterRule(cidr.substring(0, barra), Integer.parseInt(cidr.substring(barra + 1)),
+                IpFilterRuleType.ACCEPT);
+    }
+
+    public static class Config {
+        // Rafaga maxima y tokens por segundo de cada bucket
+        private long capacity = 20;
+        private double refillRate = 10;
+        private KeyType key = KeyType.USER;
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillRate() {
+            return refillRate;
+        }
+
+        public void setRefillRate(double refillRate) {
+            this.refillRate = refillRate;
+        }
+
+        public KeyType getKey() {
+            return key;
+        }
+
+        public void setKey(KeyType key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.allpasoft.msapigateway.filter;
+
+import com.allpasoft.msapigateway.cache.CachedResponse;
+import com.allpasoft.msapigateway.cache.ResponseCache;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache de respuestas GET por ruta. Solo guarda respuestas 200 JSON de hasta
+ * {@code maxBodySize} bytes; los streams (NDJSON, SSE) pasan sin copiarse. Responde
+ * 304 cuando el If-None-Match coincide con el ETag guardado. Una escritura correcta por
+ * la misma ruta invalida la region en esta replica; las demas replicas se enteran por
+ * el evento que publica el servicio. La clave incluye el rol que propaga
+ * {@link JwtAuthenticationFilter}, asi una respuesta armada para un rol no se sirve a otro.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    // Cabeceras de la peticion que ya forman parte de la clave
+    private static final List<String> VARY_EN_CLAVE = List.of(
+            HttpHeaders.ACCEPT.toLowerCase(), JwtAuthenticationFilter.USER_ROLE_HEADER.toLowerCase());
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String region = config.getRegion();
+
+            HttpMethod method = request.getMethod();
+            if (method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+                return chain.filter(exchange);
+            }
+            if (method != HttpMethod.GET) {
+                return chain.filter(exchange).doOnSuccess(ignored -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        responseCache.invalidar(region);
+                    }
+                });
+            }
+
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : region;
+            String uri = request.getURI().getRawPath()
+                    + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "");
+            String key = ResponseCache.key(region, uri, request.getHeaders().getFirst(HttpHeaders.ACCEPT),
+                    request.getHeaders().getFirst(JwtAuthenticationFilter.USER_ROLE_HEADER));
+
+            String cacheControl = request.getHeaders().getCacheControl();
+            boolean noCache = cacheControl != null && cacheControl.contains("no-cache");
+            CachedResponse cached = noCache ? null : responseCache.get(key);
+            if (cached != null) {
+                responseCache.hit(routeId);
+                return escribir(exchange.getRequest(), exchange.getResponse(), cached);
+            }
+
+            responseCache.miss(routeId);
+            long generacion = responseCache.generacion(region);
+            exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+            CachingResponse response = new CachingResponse(exchange.getResponse(), config, key, generacion);
+            return chain.filter(exchange.mutate().response(response).build());
+        };
+    }
+
+    private static Mono<Void> escribir(ServerHttpRequest request, ServerHttpResponse response, CachedResponse cached) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.getEtag());
+        headers.set(HttpHeaders.AGE, String.valueOf((System.currentTimeMillis() - cached.getStoredAtMillis()) / 1000));
+        headers.set(CACHE_HEADER, "HIT");
+
+        if (coincide(request.getHeaders().getIfNoneMatch(), cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentType(cached.getContentType());
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    // Comparacion debil (RFC 9110): se ignora el prefijo W/
+    private static boolean coincide(List<String> ifNoneMatch, String etag) {
+        String valor = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidato : ifNoneMatch) {
+            if (candidato.equals("*") || (candidato.startsWith("W/") ? candidato.substring(2) : candidato).equals(valor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Deja pasar el cuerpo tal cual y copia los bytes; al completar guarda la copia.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final Config config;
+        private final String key;
+        private final long generacion;
+
+        CachingResponse(ServerHttpResponse delegate, Config config, String key, long generacion) {
+            super(delegate);
+            this.config = config;
+            this.key = key;
+            this.generacion = generacion;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long ttlMillis = ttlMillis();
+            if (ttlMillis <= 0) {
+                return super.writeWith(body);
+            }
+            ByteArrayOutputStream copia = new ByteArrayOutputStream();
+            boolean[] desbordado = new boolean[1];
+            Flux<DataBuffer> tee = Flux.from(body)
+                    .map(buffer -> {
+                        if (!desbordado[0]) {
+                            int readable = buffer.readableByteCount();
+                            if (copia.size() + readable > config.getMaxBodySize()) {
+                                desbordado[0] = true;
+                            } else {
+                                byte[] bytes = new byte[readable];
+                                int position = buffer.readPosition();
+                                buffer.read(bytes);
+                                buffer.readPosition(position);
+                                copia.writeBytes(bytes);
+                            }
+                        }
+                        return (DataBuffer) buffer;
+                    })
+                    .doOnComplete(() -> {
+                        if (!desbordado[0]) {
+                            guardar(copia.toByteArray(), ttlMillis);
+                        }
+                    });
+            return super.writeWith(tee);
+        }
+
+        private void guardar(byte[] body, long ttlMillis) {
+            String etag = getHeaders().getETag();
+            CachedResponse response = new CachedResponse(body, getHeaders().getContentType(),
+                    etag != null ? etag : etag(body), System.currentTimeMillis(), ttlMillis);
+            responseCache.put(config.getRegion(), generacion, key, response);
+        }
+
+        // 0 si la respuesta no se puede guardar
+        private long ttlMillis() {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            if (!HttpStatus.OK.equals(getStatusCode())
+                    || contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    || headers.getContentLength() > config.getMaxBodySize()
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || !varyCubierto(headers.getVary())) {
+                return 0;
+            }
+            long ttl = config.getTtl().toMillis();
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null) {
+                if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+                    return 0;
+                }
+                Matcher maxAge = MAX_AGE.matcher(cacheControl);
+                if (maxAge.find()) {
+                    ttl = Math.min(ttl, Long.parseLong(maxAge.group(1)) * 1000);
+                }
+            }
+            return ttl;
+        }
+
+        // Si la respuesta depende de otra cabecera (p. ej. X-User-Id) no se comparte entre usuarios
+        private boolean varyCubierto(List<String> vary) {
+            for (String cabecera : vary) {
+                if (!VARY_EN_CLAVE.contains(cabecera.trim().toLowerCase())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static class Config {
+        // Grupo de claves que se invalida junto (normalmente una por servicio)
+        private String region;
+        private Duration ttl = Duration.ofSeconds(30);
+        private int maxBodySize = 256 * 1024;
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(int maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+}
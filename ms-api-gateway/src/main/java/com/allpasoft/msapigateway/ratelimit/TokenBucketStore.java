@@ -0,0 +1,85 @@
+package com.allpasoft.msapigateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets en memoria, repartidos en franjas con su propio lock para que las
+ * peticiones de claves distintas casi nunca compitan. Cada franja es un LRU acotado:
+ * cuando se llena se descarta el bucket inactivo mas antiguo (que ya estaria lleno).
+ * Los limites son por replica del gateway, sin Redis.
+ */
+@Component
+public class TokenBucketStore {
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public TokenBucketStore(@Value("${gateway.rate-limit.stripes:64}") int stripes,
+                            @Value("${gateway.rate-limit.max-keys:100000}") int maxKeys) {
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        int maxPerStripe = Math.max(1, maxKeys / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(maxPerStripe);
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Consume un token del bucket de {@code key}.
+     *
+     * @return 0 si se consumio, o los nanosegundos que faltan para el siguiente token
+     */
+    public long tryConsume(String key, long capacity, double tokensPerSecond) {
+        return tryConsume(key, capacity, tokensPerSecond, System.nanoTime());
+    }
+
+    long tryConsume(String key, long capacity, double tokensPerSecond, long now) {
+        int h = key.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & mask];
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            } else {
+                double elapsedSeconds = (now - bucket.lastRefillNanos) / 1_000_000_000d;
+                bucket.tokens = Math.min(capacity, bucket.tokens + elapsedSeconds * tokensPerSecond);
+                bucket.lastRefillNanos = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerSecond * 1_000_000_000d);
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
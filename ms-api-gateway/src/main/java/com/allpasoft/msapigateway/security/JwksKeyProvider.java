@@ -0,0 +1,168 @@
+package com.allpasoft.msapigateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Claves publicas de AuthService leidas de su JWKS. El mapa kid -> clave se refresca en
+ * segundo plano y se reemplaza entero, asi la verificacion solo hace una busqueda en memoria.
+ * AuthService publica cada clave antes de usarla; un kid desconocido solo dispara un refresco
+ * asincrono (uno a la vez y como mucho cada {@code min-refresh-interval}), nunca uno por peticion.
+ */
+@Component
+public class JwksKeyProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwksKeyProvider.class);
+
+    private static final ECParameterSpec P256 = p256();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalNanos;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long lastRefreshNanos;
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private Disposable scheduled;
+
+    private final Counter unknownKid;
+    private final Counter refreshFailures;
+
+    public JwksKeyProvider(WebClient.Builder webClientBuilder,
+                           @Value("${jwt.jwks.uri:http://servicio-auth.distribuidas.svc.cluster.local:8080/.well-known/jwks.json}") String jwksUri,
+                           @Value("${jwt.jwks.refresh-interval:PT5M}") Duration refreshInterval,
+                           @Value("${jwt.jwks.min-refresh-interval:PT10S}") Duration minRefreshInterval,
+                           MeterRegistry meterRegistry) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+
+        this.unknownKid = Counter.builder("gateway.jwt.jwks.unknown-kid")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("gateway.jwt.jwks.refresh.failures")
+                .register(meterRegistry);
+        Gauge.builder("gateway.jwt.jwks.keys", this, provider -> provider.keys.size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduled = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduled != null) {
+            scheduled.dispose();
+        }
+    }
+
+    /**
+     * Clave publica para el kid, o null si no se conoce (en ese caso se pide un refresco).
+     */
+    public PublicKey getKey(String kid) {
+        PublicKey key = kid != null ? keys.get(kid) : null;
+        if (key == null) {
+            unknownKid.increment();
+            if (System.nanoTime() - lastRefreshNanos >= minRefreshIntervalNanos) {
+                refresh().subscribe();
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Reemplaza las claves con el contenido de un documento JWKS. Solo se aceptan claves EC P-256.
+     */
+    public void load(String jwksJson) throws Exception {
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(jwksJson).path("keys")) {
+            if (!"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())
+                    || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            loaded.put(jwk.get("kid").asText(), toPublicKey(jwk.path("x").asText(), jwk.path("y").asText()));
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("JWKS sin claves EC P-256");
+        }
+        this.keys = Map.copyOf(loaded);
+    }
+
+    // Si falla se conservan las claves anteriores
+    private Mono<Void> refresh() {
+        return Mono.defer(() -> {
+            if (!refreshing.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            lastRefreshNanos = System.nanoTime();
+            return webClient.get()
+                    .uri(jwksUri)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(Duration.ofSeconds(5))
+                    .flatMap(json -> Mono.fromCallable(() -> {
+                        load(json);
+                        return keys.size();
+                    }))
+                    .doOnNext(size -> logger.debug("JWKS actualizado: {} claves", size))
+                    .then()
+                    .onErrorResume(e -> {
+                        refreshFailures.increment();
+                        logger.warn("No se pudo actualizar el JWKS desde {}: {}", jwksUri, e.getMessage());
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> refreshing.set(false));
+        });
+    }
+
+    private static PublicKey toPublicKey(String x, String y) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(x)), new BigInteger(1, decoder.decode(y)));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Curva P-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.allpasoft.msapigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tokens revocados (jti) recibidos de AuthService. Cada entrada vive hasta el {@code exp}
+ * del token: despues el propio token ya no es valido y no hace falta recordarlo.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Cache<String, Instant> revocados;
+    private final Counter rechazados;
+
+    public TokenRevocationList(@Value("${jwt.revocation.max-size:1000000}") long maxSize,
+                               MeterRegistry meterRegistry) {
+        this.revocados = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new RevocationExpiry())
+                .build();
+        this.rechazados = Counter.builder("gateway.jwt.revoked.rejections")
+                .register(meterRegistry);
+        Gauge.builder("gateway.jwt.revoked.size", revocados, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public void revocar(String tokenId, Instant expiresAt) {
+        if (tokenId != null && expiresAt != null && expiresAt.isAfter(Instant.now())) {
+            revocados.put(tokenId, expiresAt);
+        }
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.getTokenId() == null || revocados.getIfPresent(token.getTokenId()) == null) {
+            return false;
+        }
+        rechazados.increment();
+        return true;
+    }
+
+    private static class RevocationExpiry implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(Duration.between(Instant.now(), expiresAt).toNanos(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.allpasoft.msapigateway.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.enabled", havingValue = "true")
+public class TokenRevocationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationListener.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TokenRevocationList revocationList;
+
+    public TokenRevocationListener(TokenRevocationList revocationList) {
+        this.revocationList = revocationList;
+    }
+
+    @RabbitListener(queues = "#{revocacionesQueue.name}")
+    public void tokenRevocado(String messageJson) {
+        try {
+            TokenRevokedEvent event = objectMapper.readValue(messageJson, TokenRevokedEvent.class);
+            revocationList.revocar(event.getTokenId(), Instant.ofEpochMilli(event.getExpiresAt()));
+            logger.debug("Token revocado: {}", event.getTokenId());
+        } catch (Exception e) {
+            logger.error("Evento de revocacion invalido: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.allpasoft.msapigateway.security;
+
+public class TokenRevokedEvent {
+
+    private String tokenId;
+    // epoch millis del exp del token revocado
+    private long expiresAt;
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.allpasoft.msapigateway.security;
+
+import java.time.Instant;
+
+public class VerifiedToken {
+
+    private final String tokenId;
+    private final String subject;
+    private final String role;
+    private final Instant expiresAt;
+
+    public VerifiedToken(String tokenId, String subject, String role, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.allpasoft.msapigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketStoreTests {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    private final TokenBucketStore store = new TokenBucketStore(4, 1000);
+
+    @Test
+    void permiteUnaRafagaHastaLaCapacidad() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.tryConsume("a", 5, 1, 0)).isZero();
+        }
+        // Sin tiempo transcurrido falta un token entero: 1 s a 1 token/s
+        assertThat(store.tryConsume("a", 5, 1, 0)).isEqualTo(SEGUNDO);
+    }
+
+    @Test
+    void rellenaSegunElTiempoTranscurrido() {
+        for (int i = 0; i < 2; i++) {
+            store.tryConsume("a", 2, 4, 0);
+        }
+        assertThat(store.tryConsume("a", 2, 4, 0)).isEqualTo(SEGUNDO / 4);
+
+        // 0.5 s a 4 tokens/s = 2 tokens
+        long t = SEGUNDO / 2;
+        assertThat(store.tryConsume("a", 2, 4, t)).isZero();
+        assertThat(store.tryConsume("a", 2, 4, t)).isZero();
+        assertThat(store.tryConsume("a", 2, 4, t)).isPositive();
+    }
+
+    @Test
+    void elRellenoNoSuperaLaCapacidad() {
+        store.tryConsume("a", 3, 10, 0);
+
+        long t = 60 * SEGUNDO;
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("a", 3, 10, t)).isZero();
+        }
+        assertThat(store.tryConsume("a", 3, 10, t)).isPositive();
+    }
+
+    @Test
+    void cadaClaveTieneSuBucket() {
+        assertThat(store.tryConsume("a", 1, 1, 0)).isZero();
+        assertThat(store.tryConsume("a", 1, 1, 0)).isPositive();
+        assertThat(store.tryConsume("b", 1, 1, 0)).isZero();
+    }
+}
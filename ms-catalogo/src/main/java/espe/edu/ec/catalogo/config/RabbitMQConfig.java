@@ -1,15 +1,89 @@
 package espe.edu.ec.catalogo.config;
 
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
 
+    public static final String CATALOG_QUEUE = "catalog.cola";
+    public static final String CATALOG_DLQ = "catalog.cola.dlq";
+    public static final String AJUSTES_RELOJ_EXCHANGE = "reloj.ajustes";
+    public static final String CACHE_INVALIDACIONES_EXCHANGE = "gateway.cache.invalidaciones";
+
+    @Value("${catalogo.batch.size:100}")
+    private int batchSize;
+
+    @Value("${catalogo.batch.receive-timeout:200}")
+    private long batchReceiveTimeout;
+
+    @Value("${catalogo.batch.prefetch:250}")
+    private int prefetch;
+
     @Bean
     public Queue notificacionesQueue() {
-        return QueueBuilder.durable("catalog.cola").build();
+        return QueueBuilder.durable(CATALOG_QUEUE).build();
+    }
+
+    // Mensajes que no se pudieron parsear o guardar ni uno por uno; quedan para revisarlos a mano
+    @Bean
+    public Queue catalogDlq() {
+        return QueueBuilder.durable(CATALOG_DLQ).build();
+    }
+
+    // Cola anonima por replica (exclusiva y auto-delete) enlazada al fanout de ajustes,
+    // asi cada instancia recibe el mapa completo de ajustes, aplica solo la entrada de su
+    // nodeName (ClockProducer) y la cola desaparece con ella.
+    @Bean
+    public FanoutExchange ajustesRelojExchange() {
+        return ExchangeBuilder.fanoutExchange(AJUSTES_RELOJ_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Queue ajustesRelojQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(AJUSTES_RELOJ_EXCHANGE + "."));
+    }
+
+    @Bean
+    public Binding ajustesRelojBinding(Queue ajustesRelojQueue, FanoutExchange ajustesRelojExchange) {
+        return BindingBuilder.bind(ajustesRelojQueue).to(ajustesRelojExchange);
+    }
+
+    // Lo escuchan las replicas del gateway para vaciar su cache de respuestas
+    @Bean
+    public FanoutExchange cacheInvalidacionesExchange() {
+        return ExchangeBuilder.fanoutExchange(CACHE_INVALIDACIONES_EXCHANGE).durable(true).build();
+    }
+
+    // Entrega hasta batchSize mensajes juntos, o lo acumulado tras batchReceiveTimeout ms.
+    // El listener devuelve un Mono: con MANUAL el contenedor confirma (ack) el lote cuando
+    // el Mono completa y lo rechaza con requeue si falla, sin bloquear el hilo consumidor.
+    // El listener solo falla si no puede dejar los mensajes malos en catalog.cola.dlq (broker
+    // caido), asi un mensaje malo no hace que el lote vuelva a la cola para siempre.
+    @Bean
+    public SimpleRabbitListenerContainerFactory catalogBatchFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                    ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(batchReceiveTimeout);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
     }
 }
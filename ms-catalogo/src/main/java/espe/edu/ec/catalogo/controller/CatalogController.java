@@ -3,11 +3,15 @@ package espe.edu.ec.catalogo.controller;
 import espe.edu.ec.catalogo.entity.Catalog;
 import espe.edu.ec.catalogo.service.CatalogService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/")
@@ -16,8 +20,20 @@ public class CatalogController {
     @Autowired
     private CatalogService service;
 
-    @GetMapping
-    public List<Catalog> listarTodas() {
+    // Con Accept application/x-ndjson o text/event-stream cada fila se escribe al leerla,
+    // respetando la demanda del cliente; con application/json se devuelve un arreglo.
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Catalog> listarTodas() {
         return service.getAll();
     }
+
+    // Exportacion completa o incremental en NDJSON, una fila por linea, ordenada por (fecha, id).
+    // Para continuar se envian fecha e id de la ultima fila recibida (since + afterId): se devuelven
+    // las filas con (fecha, id) mayor, sin saltar las que comparten fecha. Solo con since es fecha >= since.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Catalog> exportar(@RequestParam(required = false)
+                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                                  @RequestParam(required = false) Long afterId) {
+        return service.exportar(since, afterId);
+    }
 }
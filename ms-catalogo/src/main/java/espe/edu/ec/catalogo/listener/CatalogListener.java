@@ -1,11 +1,22 @@
 package espe.edu.ec.catalogo.listener;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import espe.edu.ec.catalogo.config.RabbitMQConfig;
 import espe.edu.ec.catalogo.dto.CatalogDto;
+import espe.edu.ec.catalogo.service.CacheInvalidationProducer;
 import espe.edu.ec.catalogo.service.CatalogService;
+import espe.edu.ec.catalogo.service.ConfirmingPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @Component
 public class CatalogListener {
@@ -16,14 +27,65 @@ public class CatalogListener {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @RabbitListener(queues = "catalog.cola")
-    public void recibirMensaje(String mensaje) {
-        try {
-            CatalogDto dto = objectMapper.readValue(mensaje, CatalogDto.class);
-            catalogService.saveEntity(dto);
-            System.out.println("Mensaje procesado y guardado: " + dto);
-        } catch (Exception e) {
-            System.err.println("Error al procesar mensaje: " + e.getMessage());
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheInvalidationProducer cacheInvalidationProducer;
+
+    @Autowired
+    private ConfirmingPublisher publisher;
+
+    @RabbitListener(queues = RabbitMQConfig.CATALOG_QUEUE, containerFactory = "catalogBatchFactory")
+    public Mono<Void> recibirMensajes(List<String> mensajes) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        List<CatalogDto> dtos = new ArrayList<>(mensajes.size());
+        List<String> invalidos = new ArrayList<>();
+        for (String mensaje : mensajes) {
+            try {
+                // Las importaciones masivas envian un arreglo por lote en un solo mensaje
+                if (mensaje.stripLeading().startsWith("[")) {
+                    dtos.addAll(Arrays.asList(objectMapper.readValue(mensaje, CatalogDto[].class)));
+                } else {
+                    dtos.add(objectMapper.readValue(mensaje, CatalogDto.class));
+                }
+            } catch (Exception e) {
+                System.err.println("Error al procesar mensaje: " + e.getMessage());
+                invalidos.add(mensaje);
+            }
         }
+
+        // El ack se envia al completar el insert. Si el lote falla se guarda uno por uno y lo que
+        // tampoco entra va a la DLQ; solo si eso falla el lote completo vuelve a la cola
+        return Flux.fromIterable(invalidos).concatMap(this::enviarADlq).then()
+                .then(catalogService.saveAll(dtos)
+                        .onErrorResume(e -> {
+                            System.err.println("Fallo el insert del lote, se guarda uno por uno: " + e.getMessage());
+                            return guardarUnoPorUno(dtos);
+                        }))
+                .doOnSuccess(ignored -> {
+                    if (!dtos.isEmpty()) {
+                        cacheInvalidationProducer.invalidar();
+                    }
+                    sample.stop(meterRegistry.timer("catalogo.batch.latency"));
+                    meterRegistry.summary("catalogo.batch.size").record(mensajes.size());
+                    System.out.println("Lote procesado y guardado: " + dtos.size() + " de " + mensajes.size() + " mensajes");
+                });
+    }
+
+    private Mono<Void> guardarUnoPorUno(List<CatalogDto> dtos) {
+        return Flux.fromIterable(dtos)
+                .concatMap(dto -> catalogService.saveEntity(dto).then()
+                        .onErrorResume(e -> {
+                            System.err.println("No se pudo guardar " + dto + ": " + e.getMessage());
+                            return Mono.fromCallable(() -> objectMapper.writeValueAsString(dto))
+                                    .flatMap(this::enviarADlq);
+                        }))
+                .then();
+    }
+
+    private Mono<Void> enviarADlq(String mensaje) {
+        return Mono.fromFuture(() -> publisher.send(RabbitMQConfig.CATALOG_DLQ, mensaje));
     }
 }
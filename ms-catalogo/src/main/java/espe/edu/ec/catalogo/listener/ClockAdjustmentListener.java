@@ -3,21 +3,35 @@ package espe.edu.ec.catalogo.listener;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import espe.edu.ec.notificaciones.dto.AdjustmentDto;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import espe.edu.ec.catalogo.config.AdjustableClock;
+import espe.edu.ec.catalogo.service.ClockProducer;
 
 @Service
 public class ClockAdjustmentListener {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @RabbitListener(queues = "reloj.ajustment")
+    @Autowired
+    private ClockProducer clockProducer;
+
+    @Autowired
+    private AdjustableClock clock;
+
+    @RabbitListener(queues = "#{ajustesRelojQueue.name}")
     public void recibirAjuste(String messageJson) {
+        long recibidoEn = clock.millis();
         try {
             AdjustmentDto dto = objectMapper.readValue(messageJson, AdjustmentDto.class);
-            long nuevoTiempo = dto.getAjusteMillis();
+            clockProducer.registrarAjuste(dto.getEnviadoEn(), recibidoEn);
+            Long ajuste = dto.getAjustes() != null ? dto.getAjustes().get(clockProducer.getNodeName()) : null;
+            if (ajuste == null) {
+                return;
+            }
+            clock.ajustar(ajuste);
 
-            System.out.println("Ajustando reloj local a: " + nuevoTiempo + " ms");
-            // Aquí iría la lógica real para ajustar el tiempo local
+            System.out.println("Ajuste de reloj local: " + ajuste + " ms, offset actual: " + clock.getOffsetMillis() + " ms");
         } catch (Exception e) {
             e.printStackTrace();
         }
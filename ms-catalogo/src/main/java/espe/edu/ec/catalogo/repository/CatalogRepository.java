@@ -1,9 +1,9 @@
 package espe.edu.ec.catalogo.repository;
 
 import espe.edu.ec.catalogo.entity.Catalog;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CatalogRepository extends JpaRepository<Catalog, Long> {
+public interface CatalogRepository extends ReactiveCrudRepository<Catalog, Long> {
 }
@@ -0,0 +1,24 @@
+package espe.edu.ec.catalogo.service;
+
+import espe.edu.ec.catalogo.config.RabbitMQConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheInvalidationProducer {
+    public static final String REGION = "catalogo";
+
+    private static final String EVENTO = "{\"region\":\"" + REGION + "\"}";
+
+    @Autowired
+    private ConfirmingPublisher publisher;
+
+    // Un aviso por lote guardado: las replicas del gateway vacian su cache del catalogo
+    public void invalidar() {
+        publisher.send(RabbitMQConfig.CACHE_INVALIDACIONES_EXCHANGE, "", EVENTO)
+                .exceptionally(e -> {
+                    System.err.println("No se pudo publicar la invalidacion de cache: " + e.getMessage());
+                    return null;
+                });
+    }
+}
@@ -1,10 +1,19 @@
 package espe.edu.ec.catalogo.service;
 
+import espe.edu.ec.catalogo.config.AdjustableClock;
 import espe.edu.ec.catalogo.dto.CatalogDto;
 import espe.edu.ec.catalogo.entity.Catalog;
 import espe.edu.ec.catalogo.repository.CatalogRepository;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,19 +21,86 @@ import java.util.List;
 @Service
 public class CatalogService {
 
+    private static final String INSERT_CATALOG = "INSERT INTO catalog (fecha, mensaje, tipo) VALUES ($1, $2, $3)";
+    private static final String EXPORT_CATALOG = "SELECT id, fecha, mensaje, tipo FROM catalog";
+
     @Autowired
     private CatalogRepository catalogRepository;
 
-    public void saveEntity(CatalogDto dto) {
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private AdjustableClock clock;
+
+    @Value("${catalogo.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    public Mono<Catalog> saveEntity(CatalogDto dto) {
         Catalog catalog = new Catalog();
         catalog.setMensaje(dto.getMensaje());
         catalog.setTipo(dto.getTipo());
-        catalog.setFecha(LocalDateTime.now());
+        catalog.setFecha(LocalDateTime.now(clock));
+
+        return catalogRepository.save(catalog);
+    }
 
-        catalogRepository.save(catalog);
+    // Un solo statement con un juego de parametros por mensaje, dentro de una transaccion
+    @Transactional
+    public Mono<Void> saveAll(List<CatalogDto> dtos) {
+        if (dtos.isEmpty()) {
+            return Mono.empty();
+        }
+        LocalDateTime fecha = LocalDateTime.now(clock);
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_CATALOG);
+            for (int i = 0; i < dtos.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                CatalogDto dto = dtos.get(i);
+                statement.bind(0, fecha);
+                bindTexto(statement, 1, dto.getMensaje());
+                bindTexto(statement, 2, dto.getTipo());
+            }
+            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        }).then();
     }
 
-    public List<Catalog> getAll() {
+    public Flux<Catalog> getAll() {
         return catalogRepository.findAll();
     }
+
+    // Cursor del lado del servidor: el driver trae exportFetchSize filas por viaje y solo
+    // cuando hay demanda, asi la memoria no depende del tamaño de la tabla.
+    // La transaccion mantiene abierto el portal durante todo el recorrido.
+    @Transactional(readOnly = true)
+    // Cursor por (fecha, id): varias filas pueden compartir fecha y no se debe saltar ninguna
+    public Flux<Catalog> exportar(LocalDateTime since, Long afterId) {
+        DatabaseClient.GenericExecuteSpec spec = since != null
+                ? databaseClient.sql(EXPORT_CATALOG + " WHERE (fecha, id) > (:since, :afterId) ORDER BY fecha, id")
+                        .bind("since", since)
+                        .bind("afterId", afterId != null ? afterId : Long.MIN_VALUE)
+                : databaseClient.sql(EXPORT_CATALOG + " ORDER BY fecha, id");
+        return spec.filter(statement -> statement.fetchSize(exportFetchSize))
+                .map((row, metadata) -> toCatalog(row))
+                .all();
+    }
+
+    private static Catalog toCatalog(Row row) {
+        Catalog catalog = new Catalog();
+        catalog.setId(row.get("id", Long.class));
+        catalog.setFecha(row.get("fecha", LocalDateTime.class));
+        catalog.setMensaje(row.get("mensaje", String.class));
+        catalog.setTipo(row.get("tipo", String.class));
+        return catalog;
+    }
+
+    private static void bindTexto(Statement statement, int index, String valor) {
+        if (valor != null) {
+            statement.bind(index, valor);
+        } else {
+            statement.bindNull(index, String.class);
+        }
+    }
 }
@@ -0,0 +1,9 @@
+-- CACHE: cada sesion reserva 50 valores por viaje a la secuencia en vez de uno por fila
+CREATE TABLE IF NOT EXISTS catalog (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (CACHE 50) PRIMARY KEY,
+    fecha TIMESTAMP(6),
+    mensaje VARCHAR(255),
+    tipo VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS catalog_fecha_idx ON catalog (fecha, id);
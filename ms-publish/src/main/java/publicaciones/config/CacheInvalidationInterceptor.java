@@ -0,0 +1,31 @@
+package publicaciones.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import publicaciones.services.CacheInvalidationProducer;
+
+/**
+ * Tras una escritura correcta (la transaccion ya se confirmo en el servicio) se invalida
+ * la cache de respuestas del gateway.
+ */
+@Component
+public class CacheInvalidationInterceptor implements HandlerInterceptor {
+	@Autowired
+	private CacheInvalidationProducer cacheInvalidationProducer;
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		HttpMethod method = HttpMethod.valueOf(request.getMethod());
+		if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+			return;
+		}
+		if (ex == null && response.getStatus() >= 200 && response.getStatus() < 300) {
+			cacheInvalidationProducer.invalidar();
+		}
+	}
+}
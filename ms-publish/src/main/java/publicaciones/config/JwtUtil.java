@@ -1,25 +0,0 @@
-package publicaciones.config;
-
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-
-import java.security.Key;
-import java.util.Date;
-import java.util.Map;
-
-public class JwtUtil {
-
-    private static final Key SECRET_KEY = Keys.hmacShaKeyFor("clave-secreta-segura-para-jwt-256bits".getBytes());
-    private static final long EXPIRATION_TIME = 3600000;
-
-    public static String generateToken(String subject, Map<String, Object> claims) {
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
-                .compact();
-    }
-}
@@ -1,5 +1,11 @@
 package publicaciones.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.context.annotation.Bean;
@@ -9,9 +15,69 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     public static final String CLOCK_REQUEST_QUEUE = "reloj.solicitd";
+    public static final String AJUSTES_RELOJ_EXCHANGE = "reloj.ajustes";
+    public static final String CACHE_INVALIDACIONES_EXCHANGE = "gateway.cache.invalidaciones";
+    public static final String BUSQUEDA_EXCHANGE = "publicaciones.busqueda";
+    public static final String AUTORES_INVALIDACIONES_EXCHANGE = "publicaciones.autores.invalidaciones";
 
     @Bean
     public Queue solicitud() {
         return QueueBuilder.durable(CLOCK_REQUEST_QUEUE).build();
     }
+
+    // Cola anonima por replica (exclusiva y auto-delete) enlazada al fanout de ajustes,
+    // asi cada instancia recibe el mapa completo de ajustes, aplica solo la entrada de su
+    // nodeName (ClockProducer) y la cola desaparece con ella.
+    @Bean
+    public FanoutExchange ajustesRelojExchange() {
+        return ExchangeBuilder.fanoutExchange(AJUSTES_RELOJ_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Queue ajustesRelojQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(AJUSTES_RELOJ_EXCHANGE + "."));
+    }
+
+    @Bean
+    public Binding ajustesRelojBinding(Queue ajustesRelojQueue, FanoutExchange ajustesRelojExchange) {
+        return BindingBuilder.bind(ajustesRelojQueue).to(ajustesRelojExchange);
+    }
+
+    // Lo escuchan las replicas del gateway para vaciar su cache de respuestas
+    @Bean
+    public FanoutExchange cacheInvalidacionesExchange() {
+        return ExchangeBuilder.fanoutExchange(CACHE_INVALIDACIONES_EXCHANGE).durable(true).build();
+    }
+
+    // Cada replica mantiene su propio indice de busqueda en disco local y lo actualiza con este fanout
+    @Bean
+    public FanoutExchange busquedaExchange() {
+        return ExchangeBuilder.fanoutExchange(BUSQUEDA_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Queue busquedaQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(BUSQUEDA_EXCHANGE + "."));
+    }
+
+    @Bean
+    public Binding busquedaBinding(Queue busquedaQueue, FanoutExchange busquedaExchange) {
+        return BindingBuilder.bind(busquedaQueue).to(busquedaExchange);
+    }
+
+    // Invalidaciones de la cache de autores de cada replica
+    @Bean
+    public FanoutExchange autoresInvalidacionesExchange() {
+        return ExchangeBuilder.fanoutExchange(AUTORES_INVALIDACIONES_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Queue autoresInvalidacionesQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(AUTORES_INVALIDACIONES_EXCHANGE + "."));
+    }
+
+    @Bean
+    public Binding autoresInvalidacionesBinding(Queue autoresInvalidacionesQueue, FanoutExchange autoresInvalidacionesExchange) {
+        return BindingBuilder.bind(autoresInvalidacionesQueue).to(autoresInvalidacionesExchange);
+    }
 }
@@ -4,13 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import java.util.List;
-import publicaciones.entity.Articulo;
+import publicaciones.entity.PublicacionView;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.http.ResponseEntity;
 
 import publicaciones.dto.ArticuloDTO;
+import publicaciones.dto.PageDto;
 import publicaciones.dto.ResponseDto;
 import publicaciones.services.ArticuloService;
 
@@ -26,7 +27,8 @@ public class ArticuloController {
 	}
 
 	@GetMapping
-	public ResponseEntity<List<Articulo>> getAllArticles() {
-		return ResponseEntity.ok(articuloService.getAllArticles());
+	public ResponseEntity<PageDto<PublicacionView>> getAllArticles(@RequestParam(required = false) Long cursor,
+			@RequestParam(required = false) Integer size) {
+		return ResponseEntity.ok(articuloService.getAllArticles(cursor, size));
 	}
 }
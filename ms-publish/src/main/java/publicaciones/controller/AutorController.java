@@ -3,11 +3,15 @@ package publicaciones.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import publicaciones.dto.AutorDTO;
+import publicaciones.dto.PageDto;
 import publicaciones.dto.ResponseDto;
+import publicaciones.entity.Autor;
 import publicaciones.services.AutorService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -33,8 +37,9 @@ public class AutorController {
 	
 	//listar autores
 	@GetMapping
-	public List<ResponseDto> obtenerAutores() {
-		return autorService.listarAutores();
+	public PageDto<Autor> obtenerAutores(@RequestParam(required = false) Long cursor,
+			@RequestParam(required = false) Integer size) {
+		return autorService.listarAutores(cursor, size);
 	}
 	//obttener autor por id
 	@GetMapping("/{id}")
@@ -50,7 +55,11 @@ public class AutorController {
 	
 	//eliminar autor
 	@DeleteMapping("eliminar/{id}")
-	public ResponseDto eliminarAutor(@PathVariable Long id) {
-		return autorService.eliminarAutor(id);
+	public ResponseEntity<ResponseDto> eliminarAutor(@PathVariable Long id) {
+		try {
+			return ResponseEntity.ok(autorService.eliminarAutor(id));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(new ResponseDto(e.getMessage(), null));
+		}
 	}
 }
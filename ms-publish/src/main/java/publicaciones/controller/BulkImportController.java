@@ -0,0 +1,38 @@
+package publicaciones.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import publicaciones.dto.BulkResultDto;
+import publicaciones.services.BulkImportService;
+
+// Carga masiva: el cuerpo es un arreglo JSON o NDJSON (un objeto por linea)
+@RestController
+@RequestMapping("/bulk")
+public class BulkImportController {
+	private static final String X_NDJSON = "application/x-ndjson";
+
+	@Autowired
+	private BulkImportService bulkImportService;
+
+	@PostMapping(value = "/autores", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, X_NDJSON})
+	public BulkResultDto importarAutores(InputStream body) throws IOException {
+		return bulkImportService.importarAutores(body);
+	}
+
+	@PostMapping(value = "/libros", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, X_NDJSON})
+	public BulkResultDto importarLibros(InputStream body) throws IOException {
+		return bulkImportService.importarLibros(body);
+	}
+
+	@PostMapping(value = "/articulos", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, X_NDJSON})
+	public BulkResultDto importarArticulos(InputStream body) throws IOException {
+		return bulkImportService.importarArticulos(body);
+	}
+}
@@ -9,7 +9,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import publicaciones.dto.AutorDTO;
 import publicaciones.dto.LibroDTO;
+import publicaciones.dto.PageDto;
 import publicaciones.dto.ResponseDto;
+import publicaciones.entity.PublicacionView;
 import publicaciones.services.AutorService;
 import publicaciones.services.LibroService;
 
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 
 @RestController
@@ -35,8 +38,9 @@ public class LibroController {
 	
 	//listar libros
 	@GetMapping
-	public List<ResponseDto> obtenerLibros(){
-		return libroService.listarLibros();
+	public PageDto<PublicacionView> obtenerLibros(@RequestParam(required = false) Long cursor,
+			@RequestParam(required = false) Integer size){
+		return libroService.listarLibros(cursor, size);
 	}
 	
 	//obtener un libro por id  
@@ -0,0 +1,54 @@
+package publicaciones.controller;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import publicaciones.dto.SearchResultDto;
+import publicaciones.entity.PublicacionView;
+import publicaciones.services.SearchService;
+
+@RestController
+@RequestMapping("/busqueda")
+public class SearchController {
+	@Autowired
+	private SearchService searchService;
+
+	// busqueda por relevancia en titulo, resumen, editorial, genero, revista y area de investigacion
+	@GetMapping
+	public SearchResultDto buscar(@RequestParam String q,
+			@RequestParam(required = false) String tipo,
+			@RequestParam(required = false) Integer page,
+			@RequestParam(required = false) Integer size) throws IOException {
+		if (q.isBlank()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El parametro q es obligatorio");
+		}
+		String filtro = tipo == null ? null : tipo.toUpperCase();
+		if (filtro != null && !PublicacionView.LIBRO.equals(filtro) && !PublicacionView.ARTICULO.equals(filtro)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tipo debe ser LIBRO o ARTICULO");
+		}
+		try {
+			return searchService.buscar(q, filtro, page, size);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+	}
+
+	// reconstruye el indice local desde publicacion_view
+	@PostMapping("/reconstruir")
+	public Map<String, Integer> reconstruir() throws IOException {
+		try {
+			return Map.of("indexadas", searchService.reconstruir());
+		} catch (IllegalStateException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+		}
+	}
+}
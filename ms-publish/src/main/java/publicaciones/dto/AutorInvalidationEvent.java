@@ -0,0 +1,12 @@
+package publicaciones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutorInvalidationEvent {
+	private Long id;
+}
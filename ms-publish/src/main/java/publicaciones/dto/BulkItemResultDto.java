@@ -0,0 +1,19 @@
+package publicaciones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResultDto {
+	// posicion del elemento en el cuerpo de la peticion (desde 0)
+	private int indice;
+	private Long id;
+	private String error;
+
+	public BulkItemResultDto(int indice) {
+		this.indice = indice;
+	}
+}
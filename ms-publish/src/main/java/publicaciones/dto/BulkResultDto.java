@@ -0,0 +1,27 @@
+package publicaciones.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkResultDto {
+	private int total;
+	private int creados;
+	private int fallidos;
+	private List<BulkItemResultDto> items;
+
+	public static BulkResultDto of(List<BulkItemResultDto> items) {
+		int creados = 0;
+		for (BulkItemResultDto item : items) {
+			if (item.getError() == null) {
+				creados++;
+			}
+		}
+		return new BulkResultDto(items.size(), creados, items.size() - creados, items);
+	}
+}
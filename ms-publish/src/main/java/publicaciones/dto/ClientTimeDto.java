@@ -9,5 +9,8 @@ import lombok.NoArgsConstructor;
 public class ClientTimeDto {
     private String nodeName;
     private Long serverTime;
+    // eco del ultimo ajuste: hora de sync al enviarlo y hora local al recibirlo
+    private Long ajusteEnviadoEn;
+    private Long ajusteRecibidoEn;
 
 }
\ No newline at end of file
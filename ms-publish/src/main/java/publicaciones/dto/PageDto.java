@@ -0,0 +1,42 @@
+package publicaciones.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageDto<T> {
+
+	public static final int DEFAULT_SIZE = 20;
+	public static final int MAX_SIZE = 100;
+
+	private List<T> data;
+	private int size;
+	// id a enviar como "cursor" para pedir la siguiente pagina; null si no hay mas
+	private Long next;
+
+	public static int limit(Integer size) {
+		if (size == null || size <= 0) {
+			return DEFAULT_SIZE;
+		}
+		return Math.min(size, MAX_SIZE);
+	}
+
+	public static long cursor(Long cursor) {
+		return cursor == null ? 0L : cursor;
+	}
+
+	// rows se consulta con limit + 1 filas para saber si existe una pagina siguiente
+	public static <T> PageDto<T> of(List<T> rows, int limit, Function<T, Long> id) {
+		if (rows.size() > limit) {
+			List<T> page = rows.subList(0, limit);
+			return new PageDto<>(page, page.size(), id.apply(page.get(page.size() - 1)));
+		}
+		return new PageDto<>(rows, rows.size(), null);
+	}
+}
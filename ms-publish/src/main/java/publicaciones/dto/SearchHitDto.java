@@ -0,0 +1,14 @@
+package publicaciones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import publicaciones.entity.PublicacionView;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHitDto {
+	private float score;
+	private PublicacionView publicacion;
+}
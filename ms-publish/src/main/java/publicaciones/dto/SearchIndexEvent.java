@@ -0,0 +1,15 @@
+package publicaciones.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Publicaciones que cambiaron; cada replica vuelve a leerlas de publicacion_view
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchIndexEvent {
+	private List<Long> ids;
+}
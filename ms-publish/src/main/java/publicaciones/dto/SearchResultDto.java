@@ -0,0 +1,19 @@
+package publicaciones.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResultDto {
+	private String query;
+	// coincidencias totales (Lucene deja de contar exacto pasadas las 1000)
+	private long total;
+	private int page;
+	private int size;
+	private List<SearchHitDto> items;
+}
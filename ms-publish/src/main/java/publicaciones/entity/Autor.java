@@ -2,6 +2,9 @@ package publicaciones.entity;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -9,15 +12,20 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "autor")
-
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Autor {
 
+    public static final String ID_SEQUENCE = "autor_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 50, name = "nombre")
@@ -110,9 +118,11 @@ public class Autor {
 		this.libros = libros;
 	}
 
+	@JsonIgnore
 	@OneToMany(mappedBy = "autor")
     private List<Libro> libros;
 	
+	@JsonIgnore
 	@OneToMany(mappedBy = "autor")
 	private List<Articulo> articulos; 
 }
@@ -0,0 +1,50 @@
+package publicaciones.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Copia de los datos del autor dentro de publicacion_view
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+public class AutorResumen {
+
+	@Column(name = "autor_id")
+	private Long id;
+
+	@Column(name = "autor_nombre")
+	private String nombre;
+
+	@Column(name = "autor_apellido")
+	private String apellido;
+
+	@Column(name = "autor_email")
+	private String email;
+
+	@Column(name = "autor_telefono")
+	private String telefono;
+
+	@Column(name = "autor_orcid")
+	private String orcid;
+
+	@Column(name = "autor_nacionalidad")
+	private String nacionalidad;
+
+	@Column(name = "autor_institucion")
+	private String institucion;
+
+	public AutorResumen(Autor autor) {
+		this.id = autor.getId();
+		this.nombre = autor.getNombre();
+		this.apellido = autor.getApellido();
+		this.email = autor.getEmail();
+		this.telefono = autor.getTelefono();
+		this.orcid = autor.getOrcid();
+		this.nacionalidad = autor.getNacionalidad();
+		this.institucion = autor.getInstitucion();
+	}
+}
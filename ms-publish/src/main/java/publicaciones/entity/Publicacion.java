@@ -6,6 +6,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,8 +14,14 @@ import lombok.Setter;
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class Publicacion {
 
+    public static final String ID_SEQUENCE = "publicacion_seq";
+    // ids que reserva cada nextval (optimizador pooled); debe coincidir con el INCREMENT de la secuencia
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Con IDENTITY Hibernate inserta fila por fila para leer el id y no puede agrupar en batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String titulo;
@@ -0,0 +1,84 @@
+package publicaciones.entity;
+
+import java.sql.Date;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Modelo de lectura desnormalizado de libros y articulos: una fila por publicacion con los
+ * campos de la tabla base, de la subclase y del autor. Las lecturas de listado y detalle
+ * van a esta sola tabla en vez de unir publicacion, libro/articulo y autor. Se escribe en la
+ * misma transaccion que la publicacion (ver PublicacionViewService).
+ */
+@Entity
+@Table(name = "publicacion_view", indexes = @Index(name = "publicacion_view_tipo_idx", columnList = "tipo, id"))
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Setter
+public class PublicacionView {
+
+	public static final String LIBRO = "LIBRO";
+	public static final String ARTICULO = "ARTICULO";
+
+	// mismo id que la publicacion
+	@Id
+	private Long id;
+
+	private String tipo;
+
+	private String titulo;
+	private String editorial;
+	private int anioPublicacion;
+	private String isbn;
+	private String resumen;
+
+	// libro
+	private String genero;
+	private Integer numPaginas;
+
+	// articulo
+	private String revista;
+	private String doi;
+	private String areaInvestigacion;
+	private Date fechaPublicacion;
+
+	@Embedded
+	private AutorResumen autor;
+
+	public static PublicacionView of(Libro libro) {
+		PublicacionView view = base(libro, LIBRO, libro.getAutor());
+		view.setGenero(libro.getGenero());
+		view.setNumPaginas(libro.getNumPaginas());
+		return view;
+	}
+
+	public static PublicacionView of(Articulo articulo) {
+		PublicacionView view = base(articulo, ARTICULO, articulo.getAutor());
+		view.setRevista(articulo.getRevista());
+		view.setDoi(articulo.getDoi());
+		view.setAreaInvestigacion(articulo.getAreaInvestigacion());
+		view.setFechaPublicacion(articulo.getFechaPublicacion());
+		return view;
+	}
+
+	private static PublicacionView base(Publicacion publicacion, String tipo, Autor autor) {
+		PublicacionView view = new PublicacionView();
+		view.setId(publicacion.getId());
+		view.setTipo(tipo);
+		view.setTitulo(publicacion.getTitulo());
+		view.setEditorial(publicacion.getEditorial());
+		view.setAnioPublicacion(publicacion.getAnioPublicacion());
+		view.setIsbn(publicacion.getIsbn());
+		view.setResumen(publicacion.getResumen());
+		view.setAutor(autor != null ? new AutorResumen(autor) : null);
+		return view;
+	}
+}
@@ -0,0 +1,31 @@
+package publicaciones.listener;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import publicaciones.dto.AutorInvalidationEvent;
+import publicaciones.services.AutorCache;
+
+@Component
+public class AutorCacheInvalidationListener {
+	@Autowired
+	private AutorCache autorCache;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@RabbitListener(queues = "#{autoresInvalidacionesQueue.name}")
+	public void recibir(String mensaje) {
+		try {
+			AutorInvalidationEvent evento = mapper.readValue(mensaje, AutorInvalidationEvent.class);
+			if (evento.getId() != null) {
+				autorCache.invalidar(evento.getId());
+			}
+		} catch (Exception e) {
+			System.err.println("Error al procesar la invalidacion de autor: " + e.getMessage());
+		}
+	}
+}
@@ -3,21 +3,37 @@ package publicaciones.listener;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import publicaciones.config.AdjustableClock;
 import publicaciones.dto.AdjustmentDto;
+import publicaciones.services.ClockProducer;
 
 @Service
 public class ClockAdjustmentListener {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @RabbitListener(queues = "reloj.ajustment")
+    @Autowired
+    private ClockProducer clockProducer;
+
+    @Autowired
+    private AdjustableClock clock;
+
+    @RabbitListener(queues = "#{ajustesRelojQueue.name}")
     public void recibirAjuste(String messageJson) {
+        long recibidoEn = clock.millis();
         try {
             AdjustmentDto dto = objectMapper.readValue(messageJson, AdjustmentDto.class);
-            long nuevoTiempo = dto.getAjusteMillis();
+            clockProducer.registrarAjuste(dto.getEnviadoEn(), recibidoEn);
+            Long ajuste = dto.getAjustes() != null ? dto.getAjustes().get(clockProducer.getNodeName()) : null;
+            // Sin entrada para esta instancia (p. ej. aun no reporto en esta ronda): solo se guarda el eco
+            if (ajuste == null) {
+                return;
+            }
+            clock.ajustar(ajuste);
 
-            System.out.println("Ajustando reloj local a: " + nuevoTiempo + " ms");
+            System.out.println("Ajuste de reloj local: " + ajuste + " ms, offset actual: " + clock.getOffsetMillis() + " ms");
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -0,0 +1,31 @@
+package publicaciones.listener;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import publicaciones.dto.SearchIndexEvent;
+import publicaciones.services.SearchService;
+
+@Component
+public class SearchIndexListener {
+	@Autowired
+	private SearchService searchService;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@RabbitListener(queues = "#{busquedaQueue.name}")
+	public void recibir(String mensaje) {
+		try {
+			SearchIndexEvent evento = mapper.readValue(mensaje, SearchIndexEvent.class);
+			if (evento.getIds() != null && !evento.getIds().isEmpty()) {
+				searchService.actualizar(evento.getIds());
+			}
+		} catch (Exception e) {
+			System.err.println("Error al actualizar el indice de busqueda: " + e.getMessage());
+		}
+	}
+}
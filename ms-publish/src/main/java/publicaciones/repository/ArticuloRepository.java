@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import publicaciones.entity.Articulo;
 
 public interface ArticuloRepository extends JpaRepository<Articulo, Long>{
-
+	boolean existsByAutorId(Long autorId);
 }
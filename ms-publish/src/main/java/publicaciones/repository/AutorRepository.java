@@ -1,9 +1,13 @@
 package publicaciones.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import publicaciones.entity.Autor;
 
 public interface AutorRepository extends JpaRepository<Autor, Long>{
-	
+
+	List<Autor> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import publicaciones.entity.Libro;
 
 public interface LibroRepository extends JpaRepository<Libro, Long> {
-
+	boolean existsByAutorId(Long autorId);
 }
@@ -0,0 +1,20 @@
+package publicaciones.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import publicaciones.entity.OutboxEvent;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+	// SELECT ... FOR UPDATE SKIP LOCKED: cada replica toma un lote distinto
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,72 @@
+package publicaciones.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import publicaciones.entity.PublicacionView;
+
+public interface PublicacionViewRepository extends JpaRepository<PublicacionView, Long> {
+
+	String COLUMNAS = "INSERT INTO publicacion_view (id, tipo, titulo, editorial, anio_publicacion, isbn, resumen, "
+			+ "genero, num_paginas, revista, doi, area_investigacion, fecha_publicacion, autor_id, autor_nombre, "
+			+ "autor_apellido, autor_email, autor_telefono, autor_orcid, autor_nacionalidad, autor_institucion) ";
+
+	String AUTOR = "a.id, a.nombre, a.apellido, a.email, a.telefono, a.orcid, a.nacionalidad, a.institucion ";
+
+	String PROYECTAR_LIBROS = COLUMNAS
+			+ "SELECT p.id, 'LIBRO', p.titulo, p.editorial, p.anio_publicacion, p.isbn, p.resumen, "
+			+ "l.genero, l.num_paginas, CAST(NULL AS VARCHAR), CAST(NULL AS VARCHAR), CAST(NULL AS VARCHAR), CAST(NULL AS DATE), " + AUTOR
+			+ "FROM publicacion p JOIN libro l ON l.id = p.id LEFT JOIN autor a ON a.id = l.id_autor ";
+
+	String PROYECTAR_ARTICULOS = COLUMNAS
+			+ "SELECT p.id, 'ARTICULO', p.titulo, p.editorial, p.anio_publicacion, p.isbn, p.resumen, "
+			+ "CAST(NULL AS VARCHAR), CAST(NULL AS INTEGER), r.revista, r.doi, r.area_investigacion, r.fecha_publicacion, " + AUTOR
+			+ "FROM publicacion p JOIN articulo r ON r.id = p.id LEFT JOIN autor a ON a.id = r.id_autor ";
+
+	String FALTANTES = "WHERE NOT EXISTS (SELECT 1 FROM publicacion_view v WHERE v.id = p.id) ON CONFLICT (id) DO NOTHING";
+
+	List<PublicacionView> findByTipoAndIdGreaterThanOrderByIdAsc(String tipo, Long id, Limit limit);
+
+	Optional<PublicacionView> findByIdAndTipo(Long id, String tipo);
+
+	List<PublicacionView> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	// Proyecta en una sola sentencia las publicaciones recien insertadas por la carga masiva
+	@Modifying
+	@Transactional
+	@Query(value = PROYECTAR_LIBROS + "WHERE p.id IN (:ids) ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+	int proyectarLibros(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Transactional
+	@Query(value = PROYECTAR_ARTICULOS + "WHERE p.id IN (:ids) ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+	int proyectarArticulos(@Param("ids") Collection<Long> ids);
+
+	// Completa las filas que falten (datos anteriores al modelo de lectura)
+	@Modifying
+	@Transactional
+	@Query(value = PROYECTAR_LIBROS + FALTANTES, nativeQuery = true)
+	int proyectarLibrosFaltantes();
+
+	@Modifying
+	@Transactional
+	@Query(value = PROYECTAR_ARTICULOS + FALTANTES, nativeQuery = true)
+	int proyectarArticulosFaltantes();
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE PublicacionView v SET v.autor.nombre = :nombre, v.autor.apellido = :apellido, v.autor.email = :email, "
+			+ "v.autor.telefono = :telefono, v.autor.orcid = :orcid, v.autor.nacionalidad = :nacionalidad, "
+			+ "v.autor.institucion = :institucion WHERE v.autor.id = :autorId")
+	int actualizarAutor(@Param("autorId") Long autorId, @Param("nombre") String nombre, @Param("apellido") String apellido,
+			@Param("email") String email, @Param("telefono") String telefono, @Param("orcid") String orcid,
+			@Param("nacionalidad") String nacionalidad, @Param("institucion") String institucion);
+}
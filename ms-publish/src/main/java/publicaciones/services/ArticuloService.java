@@ -2,16 +2,17 @@ package publicaciones.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 import publicaciones.entity.Articulo;
 
 import publicaciones.dto.ArticuloDTO;
 import publicaciones.dto.LibroDTO;
+import publicaciones.dto.PageDto;
 import publicaciones.dto.ResponseDto;
 import publicaciones.entity.Articulo;
 import publicaciones.entity.Autor;
+import publicaciones.entity.PublicacionView;
 import publicaciones.repository.ArticuloRepository;
-import publicaciones.repository.AutorRepository;
 
 @Service
 public class ArticuloService {
@@ -19,14 +20,18 @@ public class ArticuloService {
 	private ArticuloRepository articuloRepository;
 	
 	@Autowired
-	private AutorRepository autorRepository;
+	private AutorCache autorCache;
 	
 	@Autowired
 	private CatalogoProducer catalogoProducer;
+
+	@Autowired
+	private PublicacionViewService publicacionViewService;
 	
-	//crear libro
+	//crear articulo
+	@Transactional
 	public ResponseDto crearArticulo(ArticuloDTO articuloDTO) {
-		Autor autor = autorRepository.findById(articuloDTO.getAutorId())
+		Autor autor = autorCache.buscar(articuloDTO.getAutorId())
 				.orElseThrow(()-> new RuntimeException("no existe autor con este id" + articuloDTO.getAutorId())); 
 		Articulo articulo = new Articulo();
 		articulo.setAutor(autor);
@@ -39,14 +44,15 @@ public class ArticuloService {
 		articulo.setResumen(articuloDTO.getResumen());
 		articulo.setRevista(articuloDTO.getRevista());
 		articulo.setTitulo(articuloDTO.getTitulo());
-		catalogoProducer.enviarCatalogo(articulo.getTitulo(), articulo.getAutor().getNombre() + " " + articulo.getAutor().getApellido(), articulo.getResumen(), "nuevo articulo");
 		Articulo nuevo = articuloRepository.save(articulo);
+		publicacionViewService.guardar(nuevo);
+		catalogoProducer.enviarCatalogo(articulo.getTitulo(), articulo.getAutor().getNombre() + " " + articulo.getAutor().getApellido(), articulo.getResumen(), "nuevo articulo");
 		
 		
 		return new ResponseDto("articulo registrado", nuevo);
 	}
-	public List<Articulo> getAllArticles() {
-		return articuloRepository.findAll();
+	public PageDto<PublicacionView> getAllArticles(Long cursor, Integer size) {
+		return publicacionViewService.listar(PublicacionView.ARTICULO, cursor, size);
 	}
 	
 	
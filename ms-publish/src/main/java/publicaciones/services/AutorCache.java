@@ -0,0 +1,57 @@
+package publicaciones.services;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import publicaciones.entity.Autor;
+import publicaciones.repository.AutorRepository;
+
+/**
+ * Cache en memoria de autores por id, acotada en tamaño. Se guardan copias desconectadas
+ * (detached) de solo lectura: sirven para responder y para enlazar el autor de un libro o
+ * articulo nuevo sin volver a CockroachDB. Las modificaciones se hacen siempre sobre la
+ * entidad leida del repositorio y al confirmar se invalida la entrada en todas las replicas
+ * (ver AutorCacheInvalidationProducer); el TTL es solo una red de seguridad.
+ */
+@Component
+public class AutorCache {
+
+	private final AutorRepository autorRepository;
+	private final Cache<Long, Autor> autores;
+
+	public AutorCache(AutorRepository autorRepository,
+			@Value("${autor.cache.ttl:PT10M}") Duration ttl,
+			@Value("${autor.cache.max-size:10000}") long maxSize,
+			MeterRegistry meterRegistry) {
+		this.autorRepository = autorRepository;
+		this.autores = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, autores, "publicaciones.autores");
+		Gauge.builder("publicaciones.autores.cache.hit.ratio", autores, cache -> cache.stats().hitRate())
+				.register(meterRegistry);
+	}
+
+	// Los autores que no existen no se guardan, asi uno recien creado se encuentra de inmediato
+	public Optional<Autor> buscar(Long id) {
+		if (id == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(autores.get(id, key -> autorRepository.findById(key).orElse(null)));
+	}
+
+	public void invalidar(Long id) {
+		autores.invalidate(id);
+	}
+}
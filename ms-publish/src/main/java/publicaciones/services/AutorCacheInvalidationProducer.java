@@ -0,0 +1,53 @@
+package publicaciones.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import publicaciones.config.RabbitMQConfig;
+import publicaciones.dto.AutorInvalidationEvent;
+
+@Service
+public class AutorCacheInvalidationProducer {
+	@Autowired
+	private ConfirmingPublisher publisher;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private AutorCache autorCache;
+
+	// Tras el commit: antes, otra peticion podria volver a cargar el autor viejo en la cache
+	public void invalidarTrasCommit(Long id) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidar(id);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				invalidar(id);
+			}
+		});
+	}
+
+	// Se invalida la cache local sin esperar a RabbitMQ y se avisa a las demas replicas
+	private void invalidar(Long id) {
+		autorCache.invalidar(id);
+		try {
+			String json = mapper.writeValueAsString(new AutorInvalidationEvent(id));
+			publisher.send(RabbitMQConfig.AUTORES_INVALIDACIONES_EXCHANGE, "", json)
+					.exceptionally(e -> {
+						System.err.println("No se pudo publicar la invalidacion del autor " + id + ": " + e.getMessage());
+						return null;
+					});
+		} catch (JsonProcessingException e) {
+			System.err.println("No se pudo serializar la invalidacion del autor " + id + ": " + e.getMessage());
+		}
+	}
+}
@@ -1,20 +1,39 @@
 package publicaciones.services;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import publicaciones.dto.AutorDTO;
+import publicaciones.dto.PageDto;
 import publicaciones.dto.ResponseDto;
 import publicaciones.entity.Autor;
+import publicaciones.repository.ArticuloRepository;
 import publicaciones.repository.AutorRepository;
+import publicaciones.repository.LibroRepository;
 
 @Service
 public class AutorService {
 	@Autowired
 	private AutorRepository autorRepository;
+
+	@Autowired
+	private LibroRepository libroRepository;
+
+	@Autowired
+	private ArticuloRepository articuloRepository;
+
+	@Autowired
+	private PublicacionViewService publicacionViewService;
+
+	@Autowired
+	private AutorCache autorCache;
+
+	@Autowired
+	private AutorCacheInvalidationProducer autorCacheInvalidationProducer;
 	
 	//@Autowired
 	//private NotificacionProducer notificacionProducer;
@@ -35,28 +54,35 @@ public class AutorService {
         return new ResponseDto("Autor registrado exitosamente", guardado);
 	}
 	
-	public List<ResponseDto> listarAutores(){
-		return autorRepository.findAll().stream()
-				.map(autor ->new ResponseDto("Autor" + autor.getApellido(), autor))
-				.collect(Collectors.toList());
+	public PageDto<Autor> listarAutores(Long cursor, Integer size){
+		int limit = PageDto.limit(size);
+		List<Autor> autores = autorRepository.findByIdGreaterThanOrderByIdAsc(PageDto.cursor(cursor), Limit.of(limit + 1));
+		return PageDto.of(autores, limit, Autor::getId);
 	}
 	
 	public ResponseDto autorPorId(Long id){
-        Autor autor = autorRepository.findById(id)
+        Autor autor = autorCache.buscar(id)
         		.orElseThrow(()-> new RuntimeException("no existe un autor con el id: " + id ));
         return new ResponseDto("Autor con id:" + autor.getId(), autor);
 
     }
 	
+	@Transactional
 	public ResponseDto eliminarAutor(Long id) {
 		Autor autor = autorRepository.findById(id)
 				.orElseThrow(()-> new RuntimeException("no existe un autor con el id: " + id ));
+		// Sin este control la FK de libro/articulo haria fallar el commit con un 500
+		if (libroRepository.existsByAutorId(id) || articuloRepository.existsByAutorId(id)) {
+			throw new IllegalStateException("El autor " + id + " tiene publicaciones registradas; eliminelas antes de borrar el autor");
+		}
 		
 		autorRepository.delete(autor);
+		autorCacheInvalidationProducer.invalidarTrasCommit(id);
 		
 		return new ResponseDto("Autor eliminado exitosamente", null);
 	}
 	
+	@Transactional
 	public ResponseDto actualizarAutor(Long id, AutorDTO autorDto) {
 		Autor autor = autorRepository.findById(id)
 				.orElseThrow(()-> new RuntimeException("no existe un autor con el id: " + id));
@@ -70,6 +96,8 @@ public class AutorService {
 		autor.setTelefono(autorDto.getTelefono());
 		
 		Autor actualizado = autorRepository.save(autor);
+		publicacionViewService.actualizarAutor(actualizado);
+		autorCacheInvalidationProducer.invalidarTrasCommit(id);
 		return new ResponseDto("Autor actualizado exitosamente ", actualizado);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,329 @@
+package publicaciones.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import publicaciones.dto.ArticuloDTO;
+import publicaciones.dto.AutorDTO;
+import publicaciones.dto.BulkItemResultDto;
+import publicaciones.dto.BulkResultDto;
+import publicaciones.dto.CatalogoDto;
+import publicaciones.dto.LibroDTO;
+import publicaciones.repository.BulkImportRepository;
+
+/**
+ * Importacion masiva de autores, libros y articulos desde un arreglo JSON o NDJSON.
+ * El cuerpo se lee en streaming y se procesa en lotes de {@code bulk.chunk-size}: cada lote
+ * se valida con una consulta por restriccion, se inserta con batches JDBC (y una sola
+ * sentencia para publicacion_view) y deja un solo evento de catalogo en el outbox, todo en
+ * su propia transaccion. Los lotes ya confirmados no se deshacen si uno posterior falla;
+ * el resultado indica que paso con cada elemento.
+ */
+@Service
+public class BulkImportService {
+
+	@Autowired
+	private BulkImportRepository bulkImportRepository;
+
+	@Autowired
+	private CatalogoProducer catalogoProducer;
+
+	@Autowired
+	private PublicacionViewService publicacionViewService;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${bulk.chunk-size:500}")
+	private int chunkSize;
+
+	@Value("${bulk.max-items:50000}")
+	private int maxItems;
+
+	public BulkImportService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public BulkResultDto importarAutores(InputStream body) throws IOException {
+		return importar(body, AutorDTO.class, this::procesarAutores);
+	}
+
+	public BulkResultDto importarLibros(InputStream body) throws IOException {
+		return importar(body, LibroDTO.class, this::procesarLibros);
+	}
+
+	public BulkResultDto importarArticulos(InputStream body) throws IOException {
+		return importar(body, ArticuloDTO.class, this::procesarArticulos);
+	}
+
+	private <T> BulkResultDto importar(InputStream body, Class<T> tipo,
+			BiConsumer<List<T>, List<BulkItemResultDto>> procesador) throws IOException {
+		List<BulkItemResultDto> resultados = new ArrayList<>();
+		List<T> lote = new ArrayList<>(chunkSize);
+		List<BulkItemResultDto> loteResultados = new ArrayList<>(chunkSize);
+		BulkItemResultDto corte = null;
+
+		// readValues acepta tanto un arreglo JSON como valores sueltos separados por lineas
+		try (MappingIterator<T> valores = mapper.readerFor(tipo).readValues(body)) {
+			int indice = 0;
+			while (true) {
+				T dto;
+				try {
+					if (!valores.hasNextValue()) {
+						break;
+					}
+					dto = valores.nextValue();
+				} catch (JsonProcessingException e) {
+					// Despues de un error de sintaxis el parser no puede seguir con seguridad
+					corte = new BulkItemResultDto(indice, null, "JSON invalido: " + e.getOriginalMessage());
+					break;
+				}
+				if (indice >= maxItems) {
+					corte = new BulkItemResultDto(indice, null, "Se supero el maximo de " + maxItems + " elementos por peticion");
+					break;
+				}
+				lote.add(dto);
+				loteResultados.add(new BulkItemResultDto(indice++));
+				if (lote.size() == chunkSize) {
+					procesarLote(lote, loteResultados, procesador, resultados);
+				}
+			}
+		}
+		procesarLote(lote, loteResultados, procesador, resultados);
+		if (corte != null) {
+			resultados.add(corte);
+		}
+		return BulkResultDto.of(resultados);
+	}
+
+	private <T> void procesarLote(List<T> lote, List<BulkItemResultDto> loteResultados,
+			BiConsumer<List<T>, List<BulkItemResultDto>> procesador, List<BulkItemResultDto> resultados) {
+		if (lote.isEmpty()) {
+			return;
+		}
+		procesador.accept(lote, loteResultados);
+		resultados.addAll(loteResultados);
+		lote.clear();
+		loteResultados.clear();
+	}
+
+	private void procesarAutores(List<AutorDTO> autores, List<BulkItemResultDto> resultados) {
+		Set<String> emails = bulkImportRepository.emailsExistentes(valores(autores, AutorDTO::getEmail));
+		Set<String> telefonos = bulkImportRepository.telefonosExistentes(valores(autores, AutorDTO::getTelefono));
+		Set<String> orcids = bulkImportRepository.orcidsExistentes(valores(autores, AutorDTO::getOrcid));
+
+		List<AutorDTO> validos = new ArrayList<>(autores.size());
+		List<BulkItemResultDto> validosResultados = new ArrayList<>(autores.size());
+		for (int i = 0; i < autores.size(); i++) {
+			AutorDTO autor = autores.get(i);
+			String error = validarAutor(autor);
+			if (error == null) {
+				error = unico("email", autor.getEmail(), emails);
+			}
+			if (error == null) {
+				error = unico("telefono", autor.getTelefono(), telefonos);
+			}
+			if (error == null) {
+				error = unico("orcid", autor.getOrcid(), orcids);
+			}
+			if (error != null) {
+				resultados.get(i).setError(error);
+				continue;
+			}
+			// Los siguientes del mismo lote con el mismo valor quedan como duplicados
+			emails.add(autor.getEmail());
+			telefonos.add(autor.getTelefono());
+			orcids.add(autor.getOrcid());
+			validos.add(autor);
+			validosResultados.add(resultados.get(i));
+		}
+
+		insertar(validos, validosResultados, bulkImportRepository::insertarAutores);
+	}
+
+	private void procesarLibros(List<LibroDTO> libros, List<BulkItemResultDto> resultados) {
+		Map<Long, String> autores = bulkImportRepository.nombresDeAutores(valores(libros, LibroDTO::getAutorId));
+
+		List<LibroDTO> validos = new ArrayList<>(libros.size());
+		List<BulkItemResultDto> validosResultados = new ArrayList<>(libros.size());
+		for (int i = 0; i < libros.size(); i++) {
+			LibroDTO libro = libros.get(i);
+			String error = requerido("titulo", libro.getTitulo());
+			if (error == null) {
+				error = autorExistente(libro.getAutorId(), autores);
+			}
+			if (error != null) {
+				resultados.get(i).setError(error);
+				continue;
+			}
+			validos.add(libro);
+			validosResultados.add(resultados.get(i));
+		}
+
+		insertar(validos, validosResultados, lote -> {
+			List<Long> ids = bulkImportRepository.insertarLibros(lote);
+			publicacionViewService.proyectarLibros(ids);
+			List<CatalogoDto> catalogos = new ArrayList<>(lote.size());
+			for (LibroDTO libro : lote) {
+				catalogos.add(new CatalogoDto(libro.getTitulo(), autores.get(libro.getAutorId()), libro.getResumen(), "nuevo-catalogo"));
+			}
+			catalogoProducer.enviarCatalogos(catalogos);
+			return ids;
+		});
+	}
+
+	private void procesarArticulos(List<ArticuloDTO> articulos, List<BulkItemResultDto> resultados) {
+		Map<Long, String> autores = bulkImportRepository.nombresDeAutores(valores(articulos, ArticuloDTO::getAutorId));
+		Set<String> revistas = bulkImportRepository.revistasExistentes(valores(articulos, ArticuloDTO::getRevista));
+		Set<String> dois = bulkImportRepository.doisExistentes(valores(articulos, ArticuloDTO::getDoi));
+
+		List<ArticuloDTO> validos = new ArrayList<>(articulos.size());
+		List<BulkItemResultDto> validosResultados = new ArrayList<>(articulos.size());
+		for (int i = 0; i < articulos.size(); i++) {
+			ArticuloDTO articulo = articulos.get(i);
+			String error = requerido("titulo", articulo.getTitulo());
+			if (error == null) {
+				error = requerido("revista", articulo.getRevista());
+			}
+			if (error == null) {
+				error = requerido("doi", articulo.getDoi());
+			}
+			if (error == null) {
+				error = autorExistente(articulo.getAutorId(), autores);
+			}
+			if (error == null) {
+				error = unico("revista", articulo.getRevista(), revistas);
+			}
+			if (error == null) {
+				error = unico("doi", articulo.getDoi(), dois);
+			}
+			if (error != null) {
+				resultados.get(i).setError(error);
+				continue;
+			}
+			revistas.add(articulo.getRevista());
+			dois.add(articulo.getDoi());
+			validos.add(articulo);
+			validosResultados.add(resultados.get(i));
+		}
+
+		insertar(validos, validosResultados, lote -> {
+			List<Long> ids = bulkImportRepository.insertarArticulos(lote);
+			publicacionViewService.proyectarArticulos(ids);
+			List<CatalogoDto> catalogos = new ArrayList<>(lote.size());
+			for (ArticuloDTO articulo : lote) {
+				catalogos.add(new CatalogoDto(articulo.getTitulo(), autores.get(articulo.getAutorId()), articulo.getResumen(), "nuevo articulo"));
+			}
+			catalogoProducer.enviarCatalogos(catalogos);
+			return ids;
+		});
+	}
+
+	// Inserta el lote en una transaccion. Si la base lo rechaza (p. ej. un duplicado que otra
+	// peticion inserto despues de la validacion) se reintenta elemento por elemento para
+	// reportar cual fallo sin perder los demas.
+	private <T> void insertar(List<T> lote, List<BulkItemResultDto> resultados, Function<List<T>, List<Long>> insercion) {
+		if (lote.isEmpty()) {
+			return;
+		}
+		try {
+			List<Long> ids = transactionTemplate.execute(status -> insercion.apply(lote));
+			for (int i = 0; i < ids.size(); i++) {
+				resultados.get(i).setId(ids.get(i));
+			}
+		} catch (DataAccessException | TransactionException e) {
+			if (lote.size() == 1) {
+				resultados.get(0).setError(mensaje(e));
+				return;
+			}
+			for (int i = 0; i < lote.size(); i++) {
+				insertar(List.of(lote.get(i)), List.of(resultados.get(i)), insercion);
+			}
+		}
+	}
+
+	private static String validarAutor(AutorDTO autor) {
+		String error = requerido("nombre", autor.getNombre(), 50);
+		if (error == null) {
+			error = requerido("apellido", autor.getApellido(), 50);
+		}
+		if (error == null) {
+			error = requerido("email", autor.getEmail(), 50);
+		}
+		if (error == null) {
+			error = requerido("telefono", autor.getTelefono(), 255);
+		}
+		if (error == null) {
+			error = requerido("orcid", autor.getOrcid(), 20);
+		}
+		return error;
+	}
+
+	private static String requerido(String campo, String valor) {
+		return requerido(campo, valor, 255);
+	}
+
+	private static String requerido(String campo, String valor, int maximo) {
+		if (valor == null || valor.isBlank()) {
+			return "El campo " + campo + " es obligatorio";
+		}
+		if (valor.length() > maximo) {
+			return "El campo " + campo + " supera los " + maximo + " caracteres";
+		}
+		return null;
+	}
+
+	private static String autorExistente(Long autorId, Map<Long, String> autores) {
+		if (autorId == null) {
+			return "El campo autorId es obligatorio";
+		}
+		if (!autores.containsKey(autorId)) {
+			return "No existe autor con id: " + autorId;
+		}
+		return null;
+	}
+
+	private static String unico(String campo, String valor, Set<String> usados) {
+		if (usados.contains(valor)) {
+			return "Ya existe un registro con " + campo + ": " + valor;
+		}
+		return null;
+	}
+
+	private static <T, V> Set<V> valores(List<T> dtos, Function<T, V> campo) {
+		Set<V> valores = new LinkedHashSet<>();
+		for (T dto : dtos) {
+			V valor = campo.apply(dto);
+			if (valor != null) {
+				valores.add(valor);
+			}
+		}
+		return valores;
+	}
+
+	private static String mensaje(Exception e) {
+		Throwable causa = e instanceof DataAccessException dae ? dae.getMostSpecificCause() : e;
+		return "No se pudo guardar: " + causa.getMessage();
+	}
+}
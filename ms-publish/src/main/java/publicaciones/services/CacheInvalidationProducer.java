@@ -0,0 +1,25 @@
+package publicaciones.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import publicaciones.config.RabbitMQConfig;
+
+@Service
+public class CacheInvalidationProducer {
+	public static final String REGION = "publicaciones";
+
+	private static final String EVENTO = "{\"region\":\"" + REGION + "\"}";
+
+	@Autowired
+	private ConfirmingPublisher publisher;
+
+	// Avisa a las replicas del gateway que las respuestas cacheadas de este servicio ya no valen
+	public void invalidar() {
+		publisher.send(RabbitMQConfig.CACHE_INVALIDACIONES_EXCHANGE, "", EVENTO)
+				.exceptionally(e -> {
+					System.err.println("No se pudo publicar la invalidacion de cache: " + e.getMessage());
+					return null;
+				});
+	}
+}
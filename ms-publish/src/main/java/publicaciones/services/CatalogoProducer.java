@@ -1,29 +1,57 @@
 package publicaciones.services;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import publicaciones.config.AdjustableClock;
 import publicaciones.dto.CatalogoDto;
-import publicaciones.dto.NotificacionDto;
+import publicaciones.entity.OutboxEvent;
+import publicaciones.repository.OutboxRepository;
 
 @Service
 public class CatalogoProducer {
+	public static final String CATALOG_QUEUE = "catalog.cola";
+
 	@Autowired
-	private RabbitTemplate template;
+	private OutboxRepository outboxRepository;
 	
 	@Autowired
 	private ObjectMapper mapper;
+
+	@Autowired
+	private AdjustableClock clock;
 	
+	// Se guarda en el outbox dentro de la transaccion del llamador; OutboxRelay lo publica despues
+	@Transactional(propagation = Propagation.MANDATORY)
 	public void enviarCatalogo(String nombre, String autor, String resumen, String mensaje) {
 		try {
 			CatalogoDto catalogoDto = new CatalogoDto(nombre, autor, resumen, mensaje);
 			String json = mapper.writeValueAsString(catalogoDto);
-			template.convertAndSend("catalog.cola", json);
-		} catch (Exception e) {
-			e.printStackTrace();
+			outboxRepository.save(new OutboxEvent(CATALOG_QUEUE, json, LocalDateTime.now(clock)));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("No se pudo serializar el catalogo", e);
+		}
+	}
+
+	// Un solo mensaje con el arreglo de catalogos del lote; catalogo acepta objeto o arreglo
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enviarCatalogos(List<CatalogoDto> catalogos) {
+		if (catalogos.isEmpty()) {
+			return;
+		}
+		try {
+			String json = mapper.writeValueAsString(catalogos);
+			outboxRepository.save(new OutboxEvent(CATALOG_QUEUE, json, LocalDateTime.now(clock)));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("No se pudo serializar el lote de catalogos", e);
 		}
 	}
 }
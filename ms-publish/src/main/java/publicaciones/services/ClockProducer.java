@@ -1,29 +1,55 @@
 package publicaciones.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.amqp.core.AmqpTemplate;
+import publicaciones.config.AdjustableClock;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import publicaciones.dto.ClientTimeDto;
 
-import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class ClockProducer {
     @Autowired
-    private AmqpTemplate amqpTemplate;
+    private ConfirmingPublisher publisher;
 
     @Autowired
     private ObjectMapper objectMapper;
 
-    private final String nodeName = "ms-publish";
+    @Autowired
+    private AdjustableClock clock;
+
+    // Un nombre por instancia (el pod en k8s): sync calcula y envia un ajuste para cada replica
+    @Value("${clock.node-name:ms-publish:${HOSTNAME:${random.value}}}")
+    private String nodeName;
+
+    private final AtomicReference<long[]> ultimoAjuste = new AtomicReference<>();
+
+    public String getNodeName() {
+        return nodeName;
+    }
+
+    // Se devuelve a sync en el siguiente reporte para medir el ida y vuelta. Se guarda tambien el
+    // offset del reloj en ese momento: se debe llamar antes de aplicar el ajuste recibido.
+    public void registrarAjuste(long enviadoEn, long recibidoEn) {
+        ultimoAjuste.set(new long[]{enviadoEn, recibidoEn, clock.getOffsetMillis()});
+    }
 
     public void sendTime() {
+        long[] eco = ultimoAjuste.get();
+        long offset = clock.getOffsetMillis();
+        long enviadoEn = clock.millis();
+        // t1 y t2 deben medirse con el mismo offset: lo que el reloj se deslizo desde t1 (el ajuste
+        // en curso) no es latencia ni deriva, y si no se descuenta sesga el offset que estima sync
+        Long recibidoEn = eco != null ? eco[1] + (offset - eco[2]) : null;
         try {
-            ClientTimeDto clientTimeDto = new ClientTimeDto(nodeName, Instant.now().toEpochMilli());
-            amqpTemplate.convertAndSend("reloj.solicitd", objectMapper.writeValueAsString(clientTimeDto));
-        } catch (Exception e) {
-            e.printStackTrace();
+            ClientTimeDto clientTimeDto = new ClientTimeDto(nodeName, enviadoEn,
+                    eco != null ? eco[0] : null, recibidoEn);
+            publisher.send("reloj.solicitd", objectMapper.writeValueAsString(clientTimeDto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la hora del nodo", e);
         }
     }
 }
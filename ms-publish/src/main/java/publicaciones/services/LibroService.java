@@ -1,16 +1,15 @@
 package publicaciones.services;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import publicaciones.dto.LibroDTO;
+import publicaciones.dto.PageDto;
 import publicaciones.dto.ResponseDto;
 import publicaciones.entity.Autor;
 import publicaciones.entity.Libro;
-import publicaciones.repository.AutorRepository;
+import publicaciones.entity.PublicacionView;
 import publicaciones.repository.LibroRepository;
 
 @Service
@@ -19,17 +18,21 @@ public class LibroService {
 	private LibroRepository libroRepository;
 	
 	@Autowired 
-	private AutorRepository autorRepository;
+	private AutorCache autorCache;
 	
 	//@Autowired
 	//private NotificacionProducer notificacionProducer;
 	
 	@Autowired
 	private CatalogoProducer catalogoProducer;
+
+	@Autowired
+	private PublicacionViewService publicacionViewService;
 	
 	//crear libro
+	@Transactional
 	public ResponseDto crearLibro(LibroDTO libroDto) {
-		Autor autor = autorRepository.findById(libroDto.getAutorId())
+		Autor autor = autorCache.buscar(libroDto.getAutorId())
                 .orElseThrow(()-> new RuntimeException("No existe autor con id: " + libroDto.getAutorId()));
 		Libro libro = new Libro();
 		libro.setAutor(autor);
@@ -42,18 +45,20 @@ public class LibroService {
 		libro.setTitulo(libroDto.getTitulo());
 		
 		Libro nuevo = libroRepository.save(libro);
+		publicacionViewService.guardar(nuevo);
 		catalogoProducer.enviarCatalogo(libro.getTitulo(), libro.getAutor().getNombre() + " " + libro.getAutor().getApellido(), libro.getResumen(), "nuevo-catalogo");
 		//notificacionProducer.enviarNotificacion("Nuevo libro registrado" + libro.getTitulo(), "nuevo-libro");
 		return new ResponseDto("Libro registrado exitosamente", nuevo);
 	}
 	
 	//actualizar libro 
+	@Transactional
 	public ResponseDto actualizarLibro(Long id, LibroDTO libroDto) {
 		
 		Libro libro = libroRepository.findById(id)
 				.orElseThrow(()-> new RuntimeException("no exixste un libro con el id: " + id));
 		
-		Autor autor = autorRepository.findById(libroDto.getAutorId())
+		Autor autor = autorCache.buscar(libroDto.getAutorId())
 				.orElseThrow(()-> new RuntimeException("No existe el autor con el id: " + libroDto.getAutorId()));
 		libro.setAutor(autor);
 		libro.setAnioPublicacion(libroDto.getAnioPublicacion());
@@ -64,28 +69,31 @@ public class LibroService {
 		libro.setResumen(libroDto.getResumen());
 		libro.setTitulo(libroDto.getTitulo());
 		Libro actualizado = libroRepository.save(libro);
+		publicacionViewService.guardar(actualizado);
 		return new ResponseDto("libro actaualizado", actualizado);
 	}
 	
 	//eliminar libro
+	@Transactional
 	public ResponseDto eliminarLibro(Long id) {
 		Libro libro = libroRepository.findById(id)
 				.orElseThrow(()-> new RuntimeException("No existe un libro con ese id: "+ id));
 		libroRepository.delete(libro);
+		publicacionViewService.eliminar(id);
 		return new ResponseDto("libro eliminado exitosamente ", null);
 	}
 	
-	//todos los libros
-	public List<ResponseDto> listarLibros() {
-		return libroRepository.findAll().stream()
-				.map(libro -> new ResponseDto("libro: " + libro.getTitulo(), libro))
-				.collect(Collectors.toList());
+	//libros paginados por id (keyset), leidos de publicacion_view sin joins
+	public PageDto<PublicacionView> listarLibros(Long cursor, Integer size) {
+		return publicacionViewService.listar(PublicacionView.LIBRO, cursor, size);
 	}
 	
 	//libro por id
 	public ResponseDto libroPorId(Long id) {
-		Libro libro = libroRepository.findById(id)
-				.orElseThrow(()-> new RuntimeException("no existe un libro con el id: " + id));
+		PublicacionView libro = publicacionViewService.porId(id, PublicacionView.LIBRO);
+		if (libro == null) {
+			throw new RuntimeException("no existe un libro con el id: " + id);
+		}
 		return new ResponseDto("libro con id: " + libro.getId(), libro);
 	}
 }
@@ -0,0 +1,74 @@
+package publicaciones.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import publicaciones.entity.OutboxEvent;
+import publicaciones.repository.OutboxRepository;
+
+@Component
+public class OutboxRelay {
+	@Autowired
+	private OutboxRepository outboxRepository;
+
+	@Autowired
+	private ConfirmingPublisher publisher;
+
+	@Value("${outbox.relay.batch-size:100}")
+	private int batchSize;
+
+	@Value("${outbox.relay.confirm-timeout:5000}")
+	private long confirmTimeout;
+
+	// Publica un lote con publisher confirms y borra solo los mensajes confirmados (ack).
+	// Los que reciben nack o no se confirman a tiempo se reintentan en la siguiente pasada,
+	// por eso aqui se envia con un solo intento. Se espera a todo el lote con un solo
+	// timeout para no retener los bloqueos de las filas mas de confirm-timeout por pasada.
+	@Scheduled(fixedDelayString = "${outbox.relay.interval:500}")
+	@Transactional
+	public void publicarPendientes() {
+		List<OutboxEvent> pendientes = outboxRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+		if (pendientes.isEmpty()) {
+			return;
+		}
+
+		Map<OutboxEvent, CompletableFuture<Void>> enviados = new LinkedHashMap<>();
+		for (OutboxEvent evento : pendientes) {
+			enviados.put(evento, publisher.send("", evento.getDestino(), evento.getPayload(), 1));
+		}
+
+		try {
+			CompletableFuture.allOf(enviados.values().toArray(new CompletableFuture[0]))
+					.get(confirmTimeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			// Se revisa cada envio abajo: los confirmados se borran igual
+		}
+
+		List<OutboxEvent> confirmados = new ArrayList<>(enviados.size());
+		for (Map.Entry<OutboxEvent, CompletableFuture<Void>> entry : enviados.entrySet()) {
+			CompletableFuture<Void> confirmacion = entry.getValue();
+			if (confirmacion.isDone() && !confirmacion.isCompletedExceptionally()) {
+				confirmados.add(entry.getKey());
+			} else {
+				System.err.println("Sin confirmacion para outbox " + entry.getKey().getId());
+			}
+		}
+
+		outboxRepository.deleteAllInBatch(confirmados);
+	}
+}
@@ -0,0 +1,88 @@
+package publicaciones.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import publicaciones.dto.PageDto;
+import publicaciones.entity.Articulo;
+import publicaciones.entity.Autor;
+import publicaciones.entity.Libro;
+import publicaciones.entity.PublicacionView;
+import publicaciones.repository.PublicacionViewRepository;
+
+/**
+ * Mantiene publicacion_view al dia. Las escrituras se hacen dentro de la transaccion del
+ * llamador, asi la vista nunca queda con una publicacion que no se guardo (o al reves).
+ * Cada cambio avisa tambien al indice de busqueda una vez confirmada la transaccion.
+ */
+@Service
+public class PublicacionViewService {
+	@Autowired
+	private PublicacionViewRepository publicacionViewRepository;
+
+	@Autowired
+	private SearchIndexProducer searchIndexProducer;
+
+	// Publicaciones creadas antes de que existiera la vista; con NOT EXISTS es barato si no falta nada
+	@PostConstruct
+	public void completar() {
+		int libros = publicacionViewRepository.proyectarLibrosFaltantes();
+		int articulos = publicacionViewRepository.proyectarArticulosFaltantes();
+		if (libros + articulos > 0) {
+			System.out.println("publicacion_view completada: " + libros + " libros y " + articulos + " articulos");
+		}
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void guardar(Libro libro) {
+		publicacionViewRepository.save(PublicacionView.of(libro));
+		searchIndexProducer.publicarTrasCommit(List.of(libro.getId()));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void guardar(Articulo articulo) {
+		publicacionViewRepository.save(PublicacionView.of(articulo));
+		searchIndexProducer.publicarTrasCommit(List.of(articulo.getId()));
+	}
+
+	// Carga masiva: una sentencia INSERT ... SELECT por lote en vez de una fila por publicacion
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void proyectarLibros(List<Long> ids) {
+		publicacionViewRepository.proyectarLibros(ids);
+		searchIndexProducer.publicarTrasCommit(ids);
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void proyectarArticulos(List<Long> ids) {
+		publicacionViewRepository.proyectarArticulos(ids);
+		searchIndexProducer.publicarTrasCommit(ids);
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void eliminar(Long id) {
+		publicacionViewRepository.deleteById(id);
+		searchIndexProducer.publicarTrasCommit(List.of(id));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void actualizarAutor(Autor autor) {
+		publicacionViewRepository.actualizarAutor(autor.getId(), autor.getNombre(), autor.getApellido(), autor.getEmail(),
+				autor.getTelefono(), autor.getOrcid(), autor.getNacionalidad(), autor.getInstitucion());
+	}
+
+	public PageDto<PublicacionView> listar(String tipo, Long cursor, Integer size) {
+		int limit = PageDto.limit(size);
+		List<PublicacionView> filas = publicacionViewRepository.findByTipoAndIdGreaterThanOrderByIdAsc(tipo, PageDto.cursor(cursor), Limit.of(limit + 1));
+		return PageDto.of(filas, limit, PublicacionView::getId);
+	}
+
+	public PublicacionView porId(Long id, String tipo) {
+		return publicacionViewRepository.findByIdAndTipo(id, tipo).orElse(null);
+	}
+}
@@ -0,0 +1,259 @@
+package publicaciones.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import publicaciones.entity.PublicacionView;
+
+/**
+ * Indice invertido de Lucene en disco local con los campos de texto de libros y articulos.
+ * Las escrituras van al IndexWriter y se hacen visibles en la siguiente refresca del
+ * SearcherManager ({@code search.refresh-interval}); el commit a disco es periodico, si el
+ * proceso muere antes se pierden a lo sumo esos cambios y se recuperan con una reconstruccion.
+ */
+@Component
+public class SearchIndex {
+
+	private static final String ID = "id";
+	private static final String TIPO = "tipo";
+	private static final String[] CAMPOS = {"titulo", "resumen", "editorial", "genero", "revista", "areaInvestigacion"};
+	// El titulo pesa mas que el resumen al ordenar por relevancia (BM25)
+	private static final Map<String, Float> PESOS = Map.of(
+			"titulo", 3f, "genero", 1.5f, "revista", 1.5f, "areaInvestigacion", 1.5f, "editorial", 1f, "resumen", 1f);
+
+	@Value("${search.index.path:data/search-index}")
+	private String indexPath;
+
+	private final Analyzer analyzer = new SpanishAnalyzer();
+	private FSDirectory directory;
+	// Se reemplazan si se cancela una reconstruccion (rollback cierra el writer). Quien los usa toma
+	// el lock de lectura; el cambio toma el de escritura para no tocar un writer ya cerrado.
+	private volatile IndexWriter writer;
+	private volatile SearcherManager searcherManager;
+	private final ReentrantReadWriteLock writerLock = new ReentrantReadWriteLock();
+	private volatile boolean refrescoPausado;
+
+	@PostConstruct
+	public void abrir() throws IOException {
+		Path path = Path.of(indexPath);
+		Files.createDirectories(path);
+		directory = FSDirectory.open(path);
+		abrirWriter();
+	}
+
+	private void abrirWriter() throws IOException {
+		SearcherManager anterior = searcherManager;
+		writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+				.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+		searcherManager = new SearcherManager(writer, null);
+		if (anterior != null) {
+			anterior.close();
+		}
+	}
+
+	@PreDestroy
+	public void cerrar() throws IOException {
+		searcherManager.close();
+		writer.close();
+		directory.close();
+		analyzer.close();
+	}
+
+	public int documentos() {
+		writerLock.readLock().lock();
+		try {
+			return writer.getDocStats().numDocs;
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	public void indexar(PublicacionView publicacion) {
+		writerLock.readLock().lock();
+		try {
+			writer.updateDocument(new Term(ID, String.valueOf(publicacion.getId())), documento(publicacion));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	public void eliminar(Long id) {
+		writerLock.readLock().lock();
+		try {
+			writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	// Vacia el indice para reconstruirlo. Hasta terminar() los lectores siguen viendo la version anterior;
+	// el commit previo es el punto al que vuelve cancelarReconstruccion().
+	public void empezarReconstruccion() throws IOException {
+		writerLock.readLock().lock();
+		try {
+			refrescoPausado = true;
+			writer.commit();
+			writer.deleteAll();
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	public void terminarReconstruccion() throws IOException {
+		writerLock.readLock().lock();
+		try {
+			try {
+				writer.commit();
+			} finally {
+				refrescoPausado = false;
+			}
+			searcherManager.maybeRefreshBlocking();
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	// Descarta lo escrito desde empezarReconstruccion() y reabre el writer sobre el ultimo commit,
+	// que es lo que ven las busquedas. Espera a que terminen las escrituras en curso.
+	public void cancelarReconstruccion() throws IOException {
+		writerLock.writeLock().lock();
+		try {
+			writer.rollback();
+			abrirWriter();
+		} finally {
+			refrescoPausado = false;
+			writerLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Busca {@code texto} (sin sintaxis de Lucene: se escapa) y devuelve la pagina pedida en orden
+	 * de relevancia. {@code tipo} filtra por LIBRO o ARTICULO sin afectar la puntuacion.
+	 */
+	public Resultado buscar(String texto, String tipo, int offset, int limit) throws IOException {
+		Query query = query(texto, tipo);
+		writerLock.readLock().lock();
+		try {
+			SearcherManager manager = searcherManager;
+			IndexSearcher searcher = manager.acquire();
+			try {
+				TopDocs top = searcher.search(query, offset + limit);
+				List<Hit> hits = new ArrayList<>(limit);
+				for (int i = offset; i < top.scoreDocs.length; i++) {
+					ScoreDoc scoreDoc = top.scoreDocs[i];
+					Document doc = searcher.storedFields().document(scoreDoc.doc);
+					hits.add(new Hit(Long.valueOf(doc.get(ID)), scoreDoc.score));
+				}
+				return new Resultado(top.totalHits.value, hits);
+			} finally {
+				manager.release(searcher);
+			}
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${search.refresh-interval:1000}")
+	public void refrescar() throws IOException {
+		writerLock.readLock().lock();
+		try {
+			if (!refrescoPausado) {
+				searcherManager.maybeRefresh();
+			}
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${search.commit-interval:30000}")
+	public void commit() throws IOException {
+		writerLock.readLock().lock();
+		try {
+			if (!refrescoPausado && writer.hasUncommittedChanges()) {
+				writer.commit();
+			}
+		} finally {
+			writerLock.readLock().unlock();
+		}
+	}
+
+	private Query query(String texto, String tipo) {
+		// El parser no es thread-safe: uno por consulta
+		MultiFieldQueryParser parser = new MultiFieldQueryParser(CAMPOS, analyzer, PESOS);
+		Query query;
+		try {
+			query = parser.parse(QueryParser.escape(texto));
+		} catch (ParseException e) {
+			throw new IllegalArgumentException("Consulta invalida: " + texto, e);
+		}
+		if (tipo == null) {
+			return query;
+		}
+		return new BooleanQuery.Builder()
+				.add(query, BooleanClause.Occur.MUST)
+				.add(new TermQuery(new Term(TIPO, tipo)), BooleanClause.Occur.FILTER)
+				.build();
+	}
+
+	private static Document documento(PublicacionView publicacion) {
+		Document doc = new Document();
+		doc.add(new StringField(ID, String.valueOf(publicacion.getId()), Field.Store.YES));
+		doc.add(new StringField(TIPO, publicacion.getTipo(), Field.Store.NO));
+		agregar(doc, "titulo", publicacion.getTitulo());
+		agregar(doc, "resumen", publicacion.getResumen());
+		agregar(doc, "editorial", publicacion.getEditorial());
+		agregar(doc, "genero", publicacion.getGenero());
+		agregar(doc, "revista", publicacion.getRevista());
+		agregar(doc, "areaInvestigacion", publicacion.getAreaInvestigacion());
+		return doc;
+	}
+
+	private static void agregar(Document doc, String campo, String valor) {
+		if (valor != null && !valor.isBlank()) {
+			doc.add(new TextField(campo, valor, Field.Store.NO));
+		}
+	}
+
+	public record Hit(Long id, float score) {
+	}
+
+	public record Resultado(long total, List<Hit> hits) {
+	}
+}
@@ -0,0 +1,53 @@
+package publicaciones.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import publicaciones.config.RabbitMQConfig;
+import publicaciones.dto.SearchIndexEvent;
+
+@Service
+public class SearchIndexProducer {
+	@Autowired
+	private ConfirmingPublisher publisher;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	// Se publica solo si la transaccion confirma, asi ninguna replica indexa datos que no se guardaron
+	public void publicarTrasCommit(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publicar(ids);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publicar(ids);
+			}
+		});
+	}
+
+	private void publicar(List<Long> ids) {
+		try {
+			String json = mapper.writeValueAsString(new SearchIndexEvent(ids));
+			publisher.send(RabbitMQConfig.BUSQUEDA_EXCHANGE, "", json)
+					.exceptionally(e -> {
+						System.err.println("No se pudo publicar la actualizacion del indice: " + e.getMessage());
+						return null;
+					});
+		} catch (JsonProcessingException e) {
+			System.err.println("No se pudo serializar la actualizacion del indice: " + e.getMessage());
+		}
+	}
+}
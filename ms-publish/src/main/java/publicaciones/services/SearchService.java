@@ -0,0 +1,186 @@
+package publicaciones.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import publicaciones.dto.PageDto;
+import publicaciones.dto.SearchHitDto;
+import publicaciones.dto.SearchResultDto;
+import publicaciones.entity.PublicacionView;
+import publicaciones.repository.PublicacionViewRepository;
+
+/**
+ * Busqueda de texto sobre libros y articulos. Lucene solo devuelve ids y puntuacion; las
+ * publicaciones se leen de publicacion_view por clave, asi la respuesta siempre tiene los
+ * datos confirmados aunque el indice vaya un poco atrasado.
+ */
+@Service
+public class SearchService {
+	@Autowired
+	private SearchIndex searchIndex;
+
+	@Autowired
+	private PublicacionViewRepository publicacionViewRepository;
+
+	@Value("${search.max-results:1000}")
+	private int maxResults;
+
+	@Value("${search.rebuild-batch-size:500}")
+	private int rebuildBatchSize;
+
+	@Value("${search.rebuild-on-startup:false}")
+	private boolean rebuildOnStartup;
+
+	private final AtomicBoolean reconstruyendo = new AtomicBoolean();
+	// Ids que cambiaron durante la reconstruccion; se aplican cuando termina o se cancela
+	private final Set<Long> pendientes = new LinkedHashSet<>();
+
+	public SearchResultDto buscar(String texto, String tipo, Integer page, Integer size) throws IOException {
+		int limit = PageDto.limit(size);
+		int pagina = page == null || page < 0 ? 0 : page;
+		int offset = pagina * limit;
+		if (offset + limit > maxResults) {
+			throw new IllegalArgumentException("Solo se pueden paginar los primeros " + maxResults + " resultados");
+		}
+
+		SearchIndex.Resultado resultado = searchIndex.buscar(texto, tipo, offset, limit);
+		List<Long> ids = new ArrayList<>(resultado.hits().size());
+		for (SearchIndex.Hit hit : resultado.hits()) {
+			ids.add(hit.id());
+		}
+		Map<Long, PublicacionView> publicaciones = new HashMap<>();
+		for (PublicacionView publicacion : publicacionViewRepository.findAllById(ids)) {
+			publicaciones.put(publicacion.getId(), publicacion);
+		}
+
+		// Se conserva el orden de relevancia; las que se borraron y el indice aun no refleja se omiten
+		List<SearchHitDto> items = new ArrayList<>(ids.size());
+		for (SearchIndex.Hit hit : resultado.hits()) {
+			PublicacionView publicacion = publicaciones.get(hit.id());
+			if (publicacion != null) {
+				items.add(new SearchHitDto(hit.score(), publicacion));
+			}
+		}
+		return new SearchResultDto(texto, resultado.total(), pagina, items.size(), items);
+	}
+
+	// Reindexa las publicaciones que existen y quita del indice las que ya no estan
+	public void actualizar(List<Long> ids) {
+		synchronized (pendientes) {
+			// El recorrido de la reconstruccion podria pisarlas con una lectura anterior
+			if (reconstruyendo.get()) {
+				pendientes.addAll(ids);
+				return;
+			}
+		}
+		aplicar(ids);
+	}
+
+	private void aplicar(List<Long> ids) {
+		Map<Long, PublicacionView> publicaciones = new HashMap<>();
+		for (PublicacionView publicacion : publicacionViewRepository.findAllById(ids)) {
+			publicaciones.put(publicacion.getId(), publicacion);
+		}
+		for (Long id : ids) {
+			PublicacionView publicacion = publicaciones.get(id);
+			if (publicacion != null) {
+				searchIndex.indexar(publicacion);
+			} else {
+				searchIndex.eliminar(id);
+			}
+		}
+	}
+
+	/**
+	 * Vuelve a crear el indice desde publicacion_view recorriendola por id. Las busquedas siguen
+	 * respondiendo con el indice anterior hasta que termina; si falla se descarta lo indexado y
+	 * se conserva el anterior. En ambos casos despues se aplican los cambios que llegaron mientras tanto.
+	 */
+	public int reconstruir() throws IOException {
+		if (!reconstruyendo.compareAndSet(false, true)) {
+			throw new IllegalStateException("Ya hay una reconstruccion del indice en curso");
+		}
+		try {
+			int total;
+			try {
+				searchIndex.empezarReconstruccion();
+				total = indexarTodo();
+			} catch (IOException | RuntimeException e) {
+				try {
+					searchIndex.cancelarReconstruccion();
+				} catch (IOException rollback) {
+					e.addSuppressed(rollback);
+				}
+				throw e;
+			}
+			searchIndex.terminarReconstruccion();
+			System.out.println("Indice de busqueda reconstruido: " + total + " publicaciones");
+			return total;
+		} finally {
+			aplicarPendientes();
+		}
+	}
+
+	private void aplicarPendientes() {
+		List<Long> ids;
+		synchronized (pendientes) {
+			ids = new ArrayList<>(pendientes);
+			pendientes.clear();
+			reconstruyendo.set(false);
+		}
+		if (ids.isEmpty()) {
+			return;
+		}
+		try {
+			aplicar(ids);
+		} catch (RuntimeException e) {
+			System.err.println("Error al aplicar " + ids.size() + " cambios pendientes al indice de busqueda: " + e.getMessage());
+		}
+	}
+
+	private int indexarTodo() {
+		int total = 0;
+		long cursor = 0;
+		while (true) {
+			List<PublicacionView> lote = publicacionViewRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(rebuildBatchSize));
+			if (lote.isEmpty()) {
+				return total;
+			}
+			for (PublicacionView publicacion : lote) {
+				searchIndex.indexar(publicacion);
+			}
+			total += lote.size();
+			cursor = lote.get(lote.size() - 1).getId();
+		}
+	}
+
+	// Indice nuevo (disco vacio) o reconstruccion pedida con --search.rebuild-on-startup=true
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruirAlIniciar() {
+		if (!rebuildOnStartup && (searchIndex.documentos() > 0 || publicacionViewRepository.count() == 0)) {
+			return;
+		}
+		Thread hilo = new Thread(() -> {
+			try {
+				reconstruir();
+			} catch (Exception e) {
+				System.err.println("Error al reconstruir el indice de busqueda: " + e.getMessage());
+			}
+		}, "search-rebuild");
+		hilo.setDaemon(true);
+		hilo.start();
+	}
+}
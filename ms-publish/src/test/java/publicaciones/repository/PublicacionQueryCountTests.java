@@ -0,0 +1,111 @@
+package publicaciones.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import publicaciones.entity.Articulo;
+import publicaciones.entity.Autor;
+import publicaciones.entity.Libro;
+import publicaciones.entity.PublicacionView;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class PublicacionQueryCountTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private PublicacionViewRepository publicacionViewRepository;
+
+	@Autowired
+	private AutorRepository autorRepository;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private Statistics statistics;
+
+	private Long primerLibroId;
+
+	@BeforeEach
+	void setUp() {
+		for (int a = 0; a < 3; a++) {
+			Autor autor = new Autor();
+			autor.setNombre("Nombre" + a);
+			autor.setApellido("Apellido" + a);
+			autor.setEmail("autor" + a + "@espe.edu.ec");
+			autor.setTelefono("+59399000000" + a);
+			autor.setOrcid("0000-0000-0000-000" + a);
+			entityManager.persist(autor);
+
+			for (int l = 0; l < 4; l++) {
+				Libro libro = new Libro();
+				libro.setTitulo("Libro " + a + "-" + l);
+				libro.setAutor(autor);
+				entityManager.persist(libro);
+				entityManager.persist(PublicacionView.of(libro));
+				if (primerLibroId == null) {
+					primerLibroId = libro.getId();
+				}
+			}
+
+			// Los articulos comparten la tabla de lectura y no deben aparecer al listar libros
+			Articulo articulo = new Articulo();
+			articulo.setTitulo("Articulo " + a);
+			articulo.setRevista("Revista " + a);
+			articulo.setDoi("10.1000/" + a);
+			articulo.setAutor(autor);
+			entityManager.persist(articulo);
+			entityManager.persist(PublicacionView.of(articulo));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void listarLibrosEjecutaUnaSolaConsulta() throws Exception {
+		List<PublicacionView> libros = publicacionViewRepository
+				.findByTipoAndIdGreaterThanOrderByIdAsc(PublicacionView.LIBRO, 0L, Limit.of(50));
+		String json = mapper.writeValueAsString(libros);
+
+		assertThat(libros).hasSize(12).allMatch(libro -> PublicacionView.LIBRO.equals(libro.getTipo()));
+		assertThat(json).contains("Apellido2");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void libroPorIdEjecutaUnaSolaConsulta() throws Exception {
+		PublicacionView libro = publicacionViewRepository.findByIdAndTipo(primerLibroId, PublicacionView.LIBRO).orElseThrow();
+		String json = mapper.writeValueAsString(libro);
+
+		assertThat(json).contains("Apellido0");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void listarAutoresNoCargaSusPublicaciones() throws Exception {
+		List<Autor> autores = autorRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(50));
+		mapper.writeValueAsString(autores);
+
+		assertThat(autores).hasSize(3);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,97 @@
+package publicaciones.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import publicaciones.entity.PublicacionView;
+import publicaciones.repository.PublicacionViewRepository;
+
+class SearchIndexTests {
+
+	@TempDir
+	Path dir;
+
+	private SearchIndex searchIndex;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		searchIndex = new SearchIndex();
+		ReflectionTestUtils.setField(searchIndex, "indexPath", dir.toString());
+		searchIndex.abrir();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		searchIndex.cerrar();
+	}
+
+	@Test
+	void cancelarReconstruccionConservaElIndiceAnterior() throws IOException {
+		searchIndex.indexar(libro(1L, "Cien anios de soledad"));
+		searchIndex.indexar(libro(2L, "El amor en los tiempos del colera"));
+		searchIndex.empezarReconstruccion();
+		searchIndex.indexar(libro(1L, "Rayuela"));
+
+		searchIndex.cancelarReconstruccion();
+
+		assertThat(ids(searchIndex.buscar("soledad", null, 0, 10))).containsExactly(1L);
+		assertThat(ids(searchIndex.buscar("colera", null, 0, 10))).containsExactly(2L);
+		assertThat(searchIndex.buscar("rayuela", null, 0, 10).total()).isZero();
+		// El writer reabierto sigue aceptando escrituras
+		searchIndex.indexar(libro(3L, "Pedro Paramo"));
+		searchIndex.refrescar();
+		assertThat(ids(searchIndex.buscar("paramo", null, 0, 10))).containsExactly(3L);
+	}
+
+	@Test
+	void losCambiosDuranteUnaReconstruccionFallidaSeAplicanDespues() throws IOException {
+		searchIndex.indexar(libro(1L, "Cien anios de soledad"));
+		searchIndex.terminarReconstruccion();
+
+		PublicacionViewRepository repository = mock(PublicacionViewRepository.class);
+		SearchService searchService = new SearchService();
+		ReflectionTestUtils.setField(searchService, "searchIndex", searchIndex);
+		ReflectionTestUtils.setField(searchService, "publicacionViewRepository", repository);
+		ReflectionTestUtils.setField(searchService, "rebuildBatchSize", 100);
+
+		when(repository.findAllById(any())).thenReturn(List.of(libro(2L, "Rayuela")));
+		when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+			// Llega una actualizacion a mitad de la reconstruccion, que luego falla
+			searchService.actualizar(List.of(2L));
+			throw new IllegalStateException("base de datos caida");
+		});
+
+		assertThatThrownBy(searchService::reconstruir).isInstanceOf(IllegalStateException.class);
+		searchIndex.refrescar();
+
+		assertThat(ids(searchIndex.buscar("soledad", null, 0, 10))).containsExactly(1L);
+		assertThat(ids(searchIndex.buscar("rayuela", null, 0, 10))).containsExactly(2L);
+	}
+
+	private static List<Long> ids(SearchIndex.Resultado resultado) {
+		return resultado.hits().stream().map(SearchIndex.Hit::id).toList();
+	}
+
+	private static PublicacionView libro(Long id, String titulo) {
+		PublicacionView view = new PublicacionView();
+		view.setId(id);
+		view.setTipo(PublicacionView.LIBRO);
+		view.setTitulo(titulo);
+		return view;
+	}
+}
@@ -0,0 +1,100 @@
+package espe.edu.ec.notificaciones.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reloj del sistema corregido con el offset que envia sync. Los ajustes no saltan:
+ * el offset se desliza hacia el objetivo a lo sumo {@code reloj.slew-rate} ms por segundo,
+ * asi el tiempo nunca retrocede. La lectura solo hace una lectura volatile y aritmetica.
+ */
+@Component
+public class AdjustableClock extends Clock {
+
+    private final Clock base;
+    private final ZoneId zone;
+    private final AtomicReference<Slew> slew;
+    private final long slewRateMs;
+
+    public AdjustableClock(@Value("${reloj.slew-rate:50}") long slewRateMs) {
+        this(Clock.systemDefaultZone(), new AtomicReference<>(new Slew(0, 0, System.nanoTime())),
+                Math.max(1, Math.min(slewRateMs, 999)));
+    }
+
+    private AdjustableClock(Clock base, AtomicReference<Slew> slew, long slewRateMs) {
+        this.base = base;
+        this.zone = base.getZone();
+        this.slew = slew;
+        this.slewRateMs = slewRateMs;
+    }
+
+    /**
+     * Suma {@code deltaMs} al offset actual; el cambio se aplica de forma gradual.
+     */
+    public void ajustar(long deltaMs) {
+        long ahora = System.nanoTime();
+        Slew actual;
+        Slew nuevo;
+        do {
+            actual = slew.get();
+            long offset = actual.offsetAt(ahora, slewRateMs);
+            nuevo = new Slew(offset, offset + deltaMs, ahora);
+        } while (!slew.compareAndSet(actual, nuevo));
+    }
+
+    public long getOffsetMillis() {
+        return slew.get().offsetAt(System.nanoTime(), slewRateMs);
+    }
+
+    @Override
+    public long millis() {
+        return base.millis() + getOffsetMillis();
+    }
+
+    @Override
+    public Instant instant() {
+        return base.instant().plusMillis(getOffsetMillis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        if (zone.equals(this.zone)) {
+            return this;
+        }
+        return new AdjustableClock(base.withZone(zone), slew, slewRateMs);
+    }
+
+    private static final class Slew {
+        private final long desde;
+        private final long objetivo;
+        private final long inicioNanos;
+
+        private Slew(long desde, long objetivo, long inicioNanos) {
+            this.desde = desde;
+            this.objetivo = objetivo;
+            this.inicioNanos = inicioNanos;
+        }
+
+        private long offsetAt(long nanos, long slewRateMs) {
+            long restante = objetivo - desde;
+            if (restante == 0) {
+                return objetivo;
+            }
+            long avance = (nanos - inicioNanos) / 1_000_000L * slewRateMs / 1000L;
+            if (avance >= Math.abs(restante)) {
+                return objetivo;
+            }
+            return restante > 0 ? desde + avance : desde - avance;
+        }
+    }
+}
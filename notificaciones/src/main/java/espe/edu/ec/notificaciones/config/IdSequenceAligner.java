@@ -0,0 +1,39 @@
+package espe.edu.ec.notificaciones.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Las tablas que venian de IDENTITY ya tienen filas, y la secuencia que crea ddl-auto
+ * empieza en 1. Al arrancar, antes de aceptar peticiones, se adelanta cada secuencia hasta
+ * el id maximo de su tabla para que los bloques del optimizador pooled no choquen con ids
+ * existentes. Solo avanza: si la secuencia ya esta por encima no se toca.
+ */
+@Component
+public class IdSequenceAligner {
+
+    // Se inyecta para que el esquema (y las secuencias) ya exista al alinear
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alinear() {
+        alinear("notificacion_seq", "notificacion");
+    }
+
+    private void alinear(String secuencia, String tabla) {
+        Long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabla, Long.class);
+        Long actual = jdbcTemplate.queryForObject("SELECT last_value FROM " + secuencia, Long.class);
+        if (maximo != null && actual != null && actual < maximo) {
+            jdbcTemplate.queryForObject("SELECT setval('" + secuencia + "', GREATEST(?, (SELECT last_value FROM " + secuencia + ")))",
+                    Long.class, maximo);
+            System.out.println("Secuencia " + secuencia + " adelantada a " + maximo);
+        }
+    }
+}
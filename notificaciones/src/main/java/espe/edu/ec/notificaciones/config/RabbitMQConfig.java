@@ -1,5 +1,11 @@
 package espe.edu.ec.notificaciones.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.context.annotation.Bean;
@@ -8,9 +14,30 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
+
+    public static final String AJUSTES_RELOJ_EXCHANGE = "reloj.ajustes";
+
     @Bean
     public Queue notificacionesCola() {
         return QueueBuilder.durable("notificaciones.cola").build();
     }
 
+    // Cola anonima por replica (exclusiva y auto-delete) enlazada al fanout de ajustes,
+    // asi cada instancia recibe el mapa completo de ajustes, aplica solo la entrada de su
+    // nodeName (ClockProducer) y la cola desaparece con ella.
+    @Bean
+    public FanoutExchange ajustesRelojExchange() {
+        return ExchangeBuilder.fanoutExchange(AJUSTES_RELOJ_EXCHANGE).durable(true).build();
+    }
+
+    @Bean
+    public Queue ajustesRelojQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(AJUSTES_RELOJ_EXCHANGE + "."));
+    }
+
+    @Bean
+    public Binding ajustesRelojBinding(Queue ajustesRelojQueue, FanoutExchange ajustesRelojExchange) {
+        return BindingBuilder.bind(ajustesRelojQueue).to(ajustesRelojExchange);
+    }
+
 }
\ No newline at end of file
@@ -3,10 +3,15 @@ package espe.edu.ec.notificaciones.controller;
 import espe.edu.ec.notificaciones.entity.Notificacion;
 import espe.edu.ec.notificaciones.service.NotificacionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,4 +24,14 @@ public class NotificacionController {
     public List<Notificacion> listarTodas() {
         return service.listarTodas();
     }
+
+    // Exportacion completa o incremental en NDJSON, una fila por linea, ordenada por (fecha, id).
+    // Para continuar se envian fecha e id de la ultima fila recibida (since + afterId): se devuelven
+    // las filas con (fecha, id) mayor, sin saltar las que comparten fecha. Solo con since es fecha >= since.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Notificacion> exportar(@RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                                       @RequestParam(required = false) Long afterId) {
+        return service.exportar(since, afterId);
+    }
 }
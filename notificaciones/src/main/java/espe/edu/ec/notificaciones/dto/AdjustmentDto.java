@@ -4,9 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class AdjustmentDto {
-    private long ajusteMillis;
+    private long enviadoEn;
+    private Map<String, Long> ajustes;
 }
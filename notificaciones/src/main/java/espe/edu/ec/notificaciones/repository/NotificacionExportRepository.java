@@ -0,0 +1,116 @@
+package espe.edu.ec.notificaciones.repository;
+
+import espe.edu.ec.notificaciones.entity.Notificacion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Lectura de notificaciones con un cursor del lado del servidor. Con autocommit desactivado
+ * el driver trae {@code fetchSize} filas por viaje, y cada fila se lee solo cuando el
+ * suscriptor la pide, asi la memoria no depende del tamaño de la tabla.
+ */
+@Repository
+public class NotificacionExportRepository {
+
+    private static final String EXPORT_NOTIFICACIONES = "SELECT id, fecha, mensaje, tipo FROM notificacion";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${notificaciones.export.fetch-size:500}")
+    private int fetchSize;
+
+    public Flux<Notificacion> exportar(LocalDateTime since, Long afterId) {
+        return Flux.<Notificacion, Cursor>generate(
+                        () -> abrir(since, afterId),
+                        (cursor, sink) -> {
+                            try {
+                                if (cursor.resultSet.next()) {
+                                    sink.next(toNotificacion(cursor.resultSet));
+                                } else {
+                                    sink.complete();
+                                }
+                            } catch (SQLException e) {
+                                sink.error(e);
+                            }
+                            return cursor;
+                        },
+                        Cursor::close)
+                // JDBC bloquea: la apertura y cada pedido de filas corren fuera del event loop
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Cursor abrir(LocalDateTime since, Long afterId) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            PreparedStatement statement;
+            if (since != null) {
+                // Cursor por (fecha, id): las filas con la misma fecha que la ultima recibida no se saltan
+                statement = connection.prepareStatement(EXPORT_NOTIFICACIONES + " WHERE (fecha, id) > (?, ?) ORDER BY fecha, id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setTimestamp(1, Timestamp.valueOf(since));
+                statement.setLong(2, afterId != null ? afterId : Long.MIN_VALUE);
+            } else {
+                statement = connection.prepareStatement(EXPORT_NOTIFICACIONES + " ORDER BY fecha, id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            }
+            statement.setFetchSize(fetchSize);
+            return new Cursor(connection, statement, statement.executeQuery());
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private static Notificacion toNotificacion(ResultSet rs) throws SQLException {
+        Notificacion notificacion = new Notificacion();
+        notificacion.setId(rs.getLong("id"));
+        Timestamp fecha = rs.getTimestamp("fecha");
+        notificacion.setFecha(fecha != null ? fecha.toLocalDateTime() : null);
+        notificacion.setMensaje(rs.getString("mensaje"));
+        notificacion.setTipo(rs.getString("tipo"));
+        return notificacion;
+    }
+
+    private static final class Cursor {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+
+        private Cursor(Connection connection, PreparedStatement statement, ResultSet resultSet) {
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+        }
+
+        // Se ejecuta al completar, fallar o cancelar (cliente desconectado)
+        private void close() {
+            try {
+                resultSet.close();
+                statement.close();
+                connection.rollback();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package espe.edu.ec.notificaciones.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envio asincrono a RabbitMQ con publisher confirms correlados.
+ * Limita los mensajes sin confirmar (ventana en vuelo) y reintenta con backoff
+ * exponencial los nacks, timeouts y errores de envio.
+ */
+@Component
+public class ConfirmingPublisher {
+
+    private static final long WINDOW_POLL_MS = 10;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Semaphore window;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final long confirmTimeoutMs;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private final Timer confirmLatency;
+    private final Counter retries;
+    private final Counter failures;
+
+    public ConfirmingPublisher(RabbitTemplate rabbitTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${rabbit.publisher.max-in-flight:256}") int maxInFlight,
+                               @Value("${rabbit.publisher.confirm-timeout:5000}") long confirmTimeoutMs,
+                               @Value("${rabbit.publisher.max-attempts:5}") int maxAttempts,
+                               @Value("${rabbit.publisher.initial-backoff:200}") long initialBackoffMs,
+                               @Value("${rabbit.publisher.max-backoff:10000}") long maxBackoffMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.window = new Semaphore(maxInFlight);
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rabbit-publisher-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.confirmLatency = Timer.builder("rabbit.publisher.confirm.latency")
+                .register(meterRegistry);
+        this.retries = Counter.builder("rabbit.publisher.retries")
+                .register(meterRegistry);
+        this.failures = Counter.builder("rabbit.publisher.failures")
+                .register(meterRegistry);
+        Gauge.builder("rabbit.publisher.inflight", window, w -> maxInFlight - w.availablePermits())
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> send(String routingKey, String payload) {
+        return send("", routingKey, payload, maxAttempts);
+    }
+
+    public CompletableFuture<Void> send(String exchange, String routingKey, String payload) {
+        return send(exchange, routingKey, payload, maxAttempts);
+    }
+
+    /**
+     * El futuro se completa con el ack del broker, o falla cuando se agotan los intentos.
+     */
+    public CompletableFuture<Void> send(String exchange, String routingKey, String payload, int attempts) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        attempt(exchange, routingKey, payload, 1, attempts, result);
+        return result;
+    }
+
+    private void attempt(String exchange, String routingKey, String payload,
+                         int attempt, int attempts, CompletableFuture<Void> result) {
+        acquireAndSend(exchange, routingKey, payload, attempt, attempts, result,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs));
+    }
+
+    // Nunca bloquea al llamador (puede ser un hilo reactivo o el unico hilo de reintentos):
+    // con la ventana llena se vuelve a intentar en el scheduler hasta agotar confirm-timeout
+    private void acquireAndSend(String exchange, String routingKey, String payload,
+                                int attempt, int attempts, CompletableFuture<Void> result, long windowDeadline) {
+        if (!window.tryAcquire()) {
+            if (System.nanoTime() - windowDeadline >= 0) {
+                retryOrFail(exchange, routingKey, payload, attempt, attempts, result, "ventana de envio llena");
+            } else {
+                retryScheduler.schedule(() -> acquireAndSend(exchange, routingKey, payload, attempt, attempts, result, windowDeadline),
+                        WINDOW_POLL_MS, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+        try {
+            rabbitTemplate.convertAndSend(exchange, routingKey, payload, correlation);
+        } catch (Exception e) {
+            window.release();
+            retryOrFail(exchange, routingKey, payload, attempt, attempts, result, e.getMessage());
+            return;
+        }
+
+        correlation.getFuture()
+                .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, error) -> {
+                    window.release();
+                    confirmLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (error == null && confirm.isAck()) {
+                        result.complete(null);
+                        return;
+                    }
+                    String reason = error != null ? error.toString() : confirm.getReason();
+                    retryOrFail(exchange, routingKey, payload, attempt, attempts, result, reason);
+                });
+    }
+
+    private void retryOrFail(String exchange, String routingKey, String payload,
+                             int attempt, int attempts, CompletableFuture<Void> result, String reason) {
+        if (attempt >= attempts) {
+            fail(routingKey, result, new IllegalStateException("Mensaje no confirmado tras " + attempt + " intentos: " + reason));
+            return;
+        }
+        retries.increment();
+        long backoff = Math.min(initialBackoffMs << Math.min(attempt - 1, 20), maxBackoffMs);
+        System.err.println("Reintentando envio a " + routingKey + " en " + backoff + " ms (intento " + (attempt + 1) + "): " + reason);
+        retryScheduler.schedule(() -> attempt(exchange, routingKey, payload, attempt + 1, attempts, result),
+                backoff, TimeUnit.MILLISECONDS);
+    }
+
+    private void fail(String routingKey, CompletableFuture<Void> result, Throwable cause) {
+        failures.increment();
+        System.err.println("Fallo el envio a " + routingKey + ": " + cause.getMessage());
+        result.completeExceptionally(cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdown();
+    }
+}
@@ -1,10 +1,13 @@
 package espe.edu.ec.notificaciones.service;
 
+import espe.edu.ec.notificaciones.config.AdjustableClock;
 import espe.edu.ec.notificaciones.dto.NotificacionDto;
 import espe.edu.ec.notificaciones.entity.Notificacion;
+import espe.edu.ec.notificaciones.repository.NotificacionExportRepository;
 import espe.edu.ec.notificaciones.repository.NotificacionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,13 +17,19 @@ public class NotificacionService {
     @Autowired
     private NotificacionRepository notificacionRepository;
 
+    @Autowired
+    private NotificacionExportRepository notificacionExportRepository;
+
+    @Autowired
+    private AdjustableClock clock;
+
 
 
     public void guardarNotificacion(NotificacionDto dto){
         Notificacion notificacion = new Notificacion();
         notificacion.setMensaje(dto.getMensaje());
         notificacion.setTipo(dto.getTipo());
-        notificacion.setFecha(LocalDateTime.now());
+        notificacion.setFecha(LocalDateTime.now(clock));
 
         notificacionRepository.save(notificacion);
 
@@ -30,5 +39,9 @@ public class NotificacionService {
         return notificacionRepository.findAll();
     }
 
+    public Flux<Notificacion> exportar(LocalDateTime since, Long afterId){
+        return notificacionExportRepository.exportar(since, afterId);
+    }
+
 
 }
@@ -1,5 +1,7 @@
 package com.allpasoft.sync.config;
 
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.context.annotation.Bean;
@@ -9,7 +11,7 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     public static final String CLOCK_REQUEST_QUEUE = "reloj.solicitd";
-    public static final String AJUSTES_RELOJ_QUEUE = "reloj.ajustment";
+    public static final String AJUSTES_RELOJ_EXCHANGE = "reloj.ajustes";
 
     @Bean
     public Queue solicitud() {
@@ -17,9 +19,10 @@ public class RabbitMQConfig {
     }
 
 
+    // Fanout: cada replica enlaza su propia cola y recibe todos los ajustes.
     @Bean
-    public Queue ajustesRelojQueue() {
-        return QueueBuilder.durable(AJUSTES_RELOJ_QUEUE).build();
+    public FanoutExchange ajustesRelojExchange() {
+        return ExchangeBuilder.fanoutExchange(AJUSTES_RELOJ_EXCHANGE).durable(true).build();
     }
 
 }
@@ -0,0 +1,27 @@
+package com.allpasoft.sync.controller;
+
+import com.allpasoft.sync.dto.SyncResultDto;
+import com.allpasoft.sync.services.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    // Ultimo calculo de offsets y ajustes por nodo
+    @GetMapping("/ajustes")
+    public ResponseEntity<SyncResultDto> ultimosAjustes() {
+        SyncResultDto resultado = syncService.getUltimoResultado();
+        if (resultado == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -4,9 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class AdjustmentDto {
-    private long ajusteMillis;
-}
\ No newline at end of file
+    // reloj de sync al enviar el ajuste; los nodos lo devuelven en su siguiente reporte
+    private long enviadoEn;
+    // milisegundos que cada nodo debe sumar a su reloj
+    private Map<String, Long> ajustes;
+}
@@ -8,6 +8,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class ClientTimeDto {
     private String nodeName;
+    // t2: reloj del nodo al enviar este mensaje
     private Long serverTime;
+    // t0: reloj de sync al enviar el ultimo ajuste que recibio el nodo (eco)
+    private Long ajusteEnviadoEn;
+    // t1: reloj del nodo al recibir ese ajuste
+    private Long ajusteRecibidoEn;
 
+    public ClientTimeDto(String nodeName, Long serverTime) {
+        this.nodeName = nodeName;
+        this.serverTime = serverTime;
+    }
 }
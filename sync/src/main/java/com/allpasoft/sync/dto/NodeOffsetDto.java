@@ -0,0 +1,17 @@
+package com.allpasoft.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NodeOffsetDto {
+    // reloj del nodo menos reloj de sync, en ms
+    private long offset;
+    // ida y vuelta medido; null si el nodo aun no tiene eco de un ajuste
+    private Long rtt;
+    private long ajuste;
+    private boolean descartado;
+}
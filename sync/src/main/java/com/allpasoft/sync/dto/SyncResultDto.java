@@ -0,0 +1,17 @@
+package com.allpasoft.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncResultDto {
+    private long calculadoEn;
+    // offset de consenso respecto al reloj de sync (media de los offsets aceptados)
+    private long consenso;
+    private Map<String, NodeOffsetDto> nodos;
+}
@@ -1,51 +1,181 @@
 package com.allpasoft.sync.services;
 
+import com.allpasoft.sync.config.RabbitMQConfig;
 import com.allpasoft.sync.dto.AdjustmentDto;
 import com.allpasoft.sync.dto.ClientTimeDto;
+import com.allpasoft.sync.dto.NodeOffsetDto;
+import com.allpasoft.sync.dto.SyncResultDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Sincronizacion hibrida Cristian/Berkeley. Cada nodo devuelve en su reporte el instante
+ * en que sync envio el ultimo ajuste (t0) y el instante en que el nodo lo recibio (t1);
+ * junto con su hora de envio (t2) y la hora de llegada a sync (t3) se estima, como en NTP:
+ * offset = ((t1 - t0) + (t2 - t3)) / 2 y rtt = (t3 - t0) - (t2 - t1).
+ * Los offsets se combinan con la mediana y se descartan los atipicos antes de promediar.
+ */
 @Service
 public class SyncService {
-    private final Map<String, Long> clientTimes = new ConcurrentHashMap<>();
+    private final Map<String, ClockSample> samples = new ConcurrentHashMap<>();
+    private final AtomicReference<SyncResultDto> ultimoResultado = new AtomicReference<>();
+
     @Autowired
-    private AmqpTemplate amqpTemplate;
+    private ConfirmingPublisher publisher;
 
     @Autowired
     private ObjectMapper objectMapper;
 
-    private static final int INTERVAL_SECONDS = 10;
+    @Value("${sync.min-nodes:2}")
+    private int minNodes;
+
+    @Value("${sync.max-rtt:2000}")
+    private long maxRtt;
+
+    @Value("${sync.outlier-tolerance:50}")
+    private long outlierTolerance;
+
+    @Value("${sync.echo-max-age:60000}")
+    private long echoMaxAge;
 
     public void registerClientTime(ClientTimeDto dto) {
-        clientTimes.put(dto.getNodeName(), dto.getServerTime());
+        registerClientTime(dto, Instant.now().toEpochMilli());
+    }
+
+    public void registerClientTime(ClientTimeDto dto, long recibidoEn) {
+        long t2 = dto.getServerTime();
+        long t3 = recibidoEn;
+        Long t0 = dto.getAjusteEnviadoEn();
+        Long t1 = dto.getAjusteRecibidoEn();
+
+        ClockSample sample;
+        if (t0 != null && t1 != null && t3 - t0 <= echoMaxAge) {
+            long offset = ((t1 - t0) + (t2 - t3)) / 2;
+            long rtt = Math.max((t3 - t0) - (t2 - t1), 0);
+            sample = new ClockSample(offset, rtt);
+        } else {
+            // Sin eco todavia: se asume latencia cero (primer ciclo del nodo)
+            sample = new ClockSample(t2 - t3, null);
+        }
+        // La clave es la instancia, no el servicio: cada replica tiene su propio offset.
+        // Si reporta varias veces en un ciclo se conserva la muestra de menor rtt
+        samples.merge(dto.getNodeName(), sample, (actual, nueva) -> nueva.rttOrMax() <= actual.rttOrMax() ? nueva : actual);
     }
 
     public void synchronizeClocks() {
-        if (clientTimes.size() >= 2) {
-            long currentTime = Instant.now().toEpochMilli();
-            long averageTime = (currentTime + clientTimes.values().stream().mapToLong(Long::longValue).sum())
-                    / (clientTimes.size() + 1);
-            clientTimes.clear();
-            applyAdjustment(averageTime);
+        if (samples.size() < minNodes) {
+            return;
+        }
+        // Las muestras anteriores al ajuste ya no son validas una vez aplicado
+        Map<String, ClockSample> ronda = new HashMap<>();
+        for (String nodo : samples.keySet()) {
+            ClockSample sample = samples.remove(nodo);
+            if (sample != null) {
+                ronda.put(nodo, sample);
+            }
+        }
+
+        SyncResultDto resultado = calcularAjustes(ronda);
+        ultimoResultado.set(resultado);
+        applyAdjustment(resultado);
+    }
+
+    public SyncResultDto calcularAjustes(Map<String, ClockSample> ronda) {
+        // El propio sync participa con offset 0
+        long[] offsets = new long[ronda.size() + 1];
+        int i = 1;
+        for (ClockSample sample : ronda.values()) {
+            offsets[i++] = sample.offset;
+        }
+        long mediana = median(offsets.clone());
+
+        long[] desviaciones = new long[offsets.length];
+        for (int j = 0; j < offsets.length; j++) {
+            desviaciones[j] = Math.abs(offsets[j] - mediana);
+        }
+        long tolerancia = Math.max(outlierTolerance, 3 * median(desviaciones));
+
+        long suma = 0;
+        int aceptados = 0;
+        if (Math.abs(mediana) <= tolerancia) {
+            aceptados++;
+        }
+        for (ClockSample sample : ronda.values()) {
+            if (aceptado(sample, mediana, tolerancia)) {
+                suma += sample.offset;
+                aceptados++;
+            }
         }
+        long consenso = aceptados > 0 ? suma / aceptados : mediana;
+
+        Map<String, NodeOffsetDto> nodos = new HashMap<>();
+        for (Map.Entry<String, ClockSample> entry : ronda.entrySet()) {
+            ClockSample sample = entry.getValue();
+            nodos.put(entry.getKey(), new NodeOffsetDto(sample.offset, sample.rtt,
+                    consenso - sample.offset, !aceptado(sample, mediana, tolerancia)));
+        }
+        return new SyncResultDto(Instant.now().toEpochMilli(), consenso, nodos);
     }
 
-    public void applyAdjustment(long averageTime) {
+    public SyncResultDto getUltimoResultado() {
+        return ultimoResultado.get();
+    }
+
+    public void applyAdjustment(SyncResultDto resultado) {
+        Map<String, Long> ajustes = new HashMap<>();
+        resultado.getNodos().forEach((nodo, offset) -> ajustes.put(nodo, offset.getAjuste()));
 
         try {
-            AdjustmentDto adjustmentDto = new AdjustmentDto(averageTime);
-            amqpTemplate.convertAndSend("reloj.ajustment", objectMapper.writeValueAsString(adjustmentDto));
-        } catch (Exception e) {
-            e.printStackTrace();
+            AdjustmentDto adjustmentDto = new AdjustmentDto(Instant.now().toEpochMilli(), ajustes);
+            publisher.send(RabbitMQConfig.AJUSTES_RELOJ_EXCHANGE, "", objectMapper.writeValueAsString(adjustmentDto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el ajuste", e);
+        }
+
+
+        System.out.println("Adjusted offsets (ms): " + ajustes);
+    }
+
+    private boolean aceptado(ClockSample sample, long mediana, long tolerancia) {
+        return Math.abs(sample.offset - mediana) <= tolerancia
+                && (sample.rtt == null || sample.rtt <= maxRtt);
+    }
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+
+    public static class ClockSample {
+        private final long offset;
+        private final Long rtt;
+
+        public ClockSample(long offset, Long rtt) {
+            this.offset = offset;
+            this.rtt = rtt;
         }
 
+        public long getOffset() {
+            return offset;
+        }
+
+        public Long getRtt() {
+            return rtt;
+        }
 
-        System.out.println("Adjusted time (ms): " + averageTime);
+        private long rttOrMax() {
+            return rtt != null ? rtt : Long.MAX_VALUE;
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.allpasoft.sync.services;
+
+import com.allpasoft.sync.dto.ClientTimeDto;
+import com.allpasoft.sync.dto.NodeOffsetDto;
+import com.allpasoft.sync.dto.SyncResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SyncServiceTests {
+
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncService();
+        ReflectionTestUtils.setField(syncService, "publisher", mock(ConfirmingPublisher.class));
+        ReflectionTestUtils.setField(syncService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(syncService, "minNodes", 1);
+        ReflectionTestUtils.setField(syncService, "maxRtt", 2000L);
+        ReflectionTestUtils.setField(syncService, "outlierTolerance", 50L);
+        ReflectionTestUtils.setField(syncService, "echoMaxAge", 60000L);
+    }
+
+    @Test
+    void consensoEsLaMediaDeLosOffsetsIncluyendoSync() {
+        Map<String, SyncService.ClockSample> ronda = new LinkedHashMap<>();
+        ronda.put("a", new SyncService.ClockSample(10, 20L));
+        ronda.put("b", new SyncService.ClockSample(20, 20L));
+
+        SyncResultDto resultado = syncService.calcularAjustes(ronda);
+
+        // offsets {0, 10, 20}: mediana 10, nadie supera la tolerancia de 50
+        assertThat(resultado.getConsenso()).isEqualTo(10);
+        assertThat(resultado.getNodos().get("a").getAjuste()).isEqualTo(0);
+        assertThat(resultado.getNodos().get("b").getAjuste()).isEqualTo(-10);
+        assertThat(resultado.getNodos().values()).noneMatch(NodeOffsetDto::isDescartado);
+    }
+
+    @Test
+    void atipicoSeDescartaDelConsensoPeroRecibeSuAjuste() {
+        Map<String, SyncService.ClockSample> ronda = new LinkedHashMap<>();
+        ronda.put("a", new SyncService.ClockSample(10, 20L));
+        ronda.put("b", new SyncService.ClockSample(20, 20L));
+        ronda.put("c", new SyncService.ClockSample(5000, 20L));
+
+        SyncResultDto resultado = syncService.calcularAjustes(ronda);
+
+        // offsets {0, 10, 20, 5000}: mediana 15, MAD 10, tolerancia max(50, 30) = 50
+        NodeOffsetDto atipico = resultado.getNodos().get("c");
+        assertThat(atipico.isDescartado()).isTrue();
+        assertThat(resultado.getConsenso()).isEqualTo(10);
+        assertThat(atipico.getAjuste()).isEqualTo(10 - 5000);
+        assertThat(resultado.getNodos().get("a").isDescartado()).isFalse();
+    }
+
+    @Test
+    void toleranciaCreceConLaDispersion() {
+        Map<String, SyncService.ClockSample> ronda = new LinkedHashMap<>();
+        ronda.put("a", new SyncService.ClockSample(100, 20L));
+        ronda.put("b", new SyncService.ClockSample(200, 20L));
+        ronda.put("c", new SyncService.ClockSample(300, 20L));
+
+        SyncResultDto resultado = syncService.calcularAjustes(ronda);
+
+        // offsets {0, 100, 200, 300}: mediana 150, MAD 100, tolerancia 300 -> todos aceptados
+        assertThat(resultado.getNodos().values()).noneMatch(NodeOffsetDto::isDescartado);
+        assertThat(resultado.getConsenso()).isEqualTo((0 + 100 + 200 + 300) / 4);
+    }
+
+    @Test
+    void rttMayorAlMaximoSeDescarta() {
+        Map<String, SyncService.ClockSample> ronda = new LinkedHashMap<>();
+        ronda.put("a", new SyncService.ClockSample(10, 20L));
+        ronda.put("lento", new SyncService.ClockSample(20, 5000L));
+
+        SyncResultDto resultado = syncService.calcularAjustes(ronda);
+
+        assertThat(resultado.getNodos().get("lento").isDescartado()).isTrue();
+        assertThat(resultado.getConsenso()).isEqualTo((0 + 10) / 2);
+    }
+
+    @Test
+    void ecoEstimaOffsetYRttComoNtp() {
+        // Nodo adelantado 100 ms, 10 ms de latencia en cada sentido
+        long t0 = 1_000;
+        long t1 = t0 + 10 + 100;
+        long t2 = t1 + 500;
+        long t3 = t2 - 100 + 10;
+        syncService.registerClientTime(new ClientTimeDto("a", t2, t0, t1), t3);
+
+        syncService.synchronizeClocks();
+
+        NodeOffsetDto nodo = syncService.getUltimoResultado().getNodos().get("a");
+        assertThat(nodo.getOffset()).isEqualTo(100);
+        assertThat(nodo.getRtt()).isEqualTo(20L);
+    }
+
+    @Test
+    void sinEcoSeAsumeLatenciaCero() {
+        syncService.registerClientTime(new ClientTimeDto("a", 1_250L), 1_000);
+
+        syncService.synchronizeClocks();
+
+        NodeOffsetDto nodo = syncService.getUltimoResultado().getNodos().get("a");
+        assertThat(nodo.getOffset()).isEqualTo(250);
+        assertThat(nodo.getRtt()).isNull();
+    }
+
+    @Test
+    void ecoViejoSeIgnora() {
+        long t0 = 1_000;
+        long t3 = t0 + 60_001;
+        syncService.registerClientTime(new ClientTimeDto("a", t3 + 40, t0, t0 + 5_000), t3);
+
+        syncService.synchronizeClocks();
+
+        NodeOffsetDto nodo = syncService.getUltimoResultado().getNodos().get("a");
+        assertThat(nodo.getOffset()).isEqualTo(40);
+        assertThat(nodo.getRtt()).isNull();
+    }
+
+    @Test
+    void variosReportesDelMismoNodoConservanElDeMenorRtt() {
+        syncService.registerClientTime(new ClientTimeDto("a", 1_150L, 0L, 150L), 1_300);
+        syncService.registerClientTime(new ClientTimeDto("a", 2_010L, 1_000L, 1_010L), 2_020);
+
+        syncService.synchronizeClocks();
+
+        NodeOffsetDto nodo = syncService.getUltimoResultado().getNodos().get("a");
+        assertThat(nodo.getRtt()).isEqualTo(20L);
+        assertThat(nodo.getOffset()).isEqualTo(0);
+    }
+}